@@ -7,14 +7,17 @@ package com.bookmysalon.chat.controller;
 
 import com.bookmysalon.chat.dto.ConversationDto;
 import com.bookmysalon.chat.dto.MessageDto;
+import com.bookmysalon.chat.dto.ReadReceiptDto;
 import com.bookmysalon.chat.dto.UnreadCountDto;
 import com.bookmysalon.dto.NotificationDto;
 import com.bookmysalon.dto.response.ApiResponse;
+import com.bookmysalon.dto.response.CursorPage;
 import com.bookmysalon.security.CustomUserPrincipal;
 import com.bookmysalon.service.NotificationService;
 import com.bookmysalon.chat.service.MessageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -28,6 +31,7 @@ public class ChatRestController {
 
     private final MessageService messageService;
     private final NotificationService notificationService;
+    private final SimpMessagingTemplate messagingTemplate;
 
     @PostMapping("/conversations/with/{participantId}")
     public ResponseEntity<ApiResponse<ConversationDto>> getOrCreateConversation(@PathVariable Long participantId) {
@@ -43,19 +47,40 @@ public class ChatRestController {
         return ResponseEntity.ok(ApiResponse.<List<ConversationDto>>builder().success(true).data(conversations).build());
     }
 
+    @GetMapping("/conversations/page")
+    public ResponseEntity<ApiResponse<CursorPage<ConversationDto>>> getConversationPage(@RequestParam(required = false) String cursor,
+                                                                                         @RequestParam(required = false) Integer limit) {
+        Long currentUserId = currentUserId();
+        CursorPage<ConversationDto> page = messageService.getConversationPage(currentUserId, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.<CursorPage<ConversationDto>>builder().success(true).data(page).build());
+    }
+
     @GetMapping("/conversations/{conversationId}/messages")
     public ResponseEntity<ApiResponse<List<MessageDto>>> getChatHistory(@PathVariable Long conversationId,
+                                                                        @RequestParam(required = false) Long beforeMessageId,
+                                                                        @RequestParam(required = false) Long afterMessageId,
                                                                         @RequestParam(defaultValue = "50") int limit) {
         Long currentUserId = currentUserId();
-        List<MessageDto> messages = messageService.getChatHistory(currentUserId, conversationId, limit);
+        List<MessageDto> messages = messageService.getChatHistory(currentUserId, conversationId, beforeMessageId, afterMessageId, limit);
         return ResponseEntity.ok(ApiResponse.<List<MessageDto>>builder().success(true).data(messages).build());
     }
 
+    @GetMapping("/sync")
+    public ResponseEntity<ApiResponse<CursorPage<MessageDto>>> syncMessages(@RequestParam Long sinceMessageId,
+                                                                           @RequestParam(required = false) Integer limit) {
+        Long currentUserId = currentUserId();
+        CursorPage<MessageDto> page = messageService.syncMessages(currentUserId, sinceMessageId, limit);
+        return ResponseEntity.ok(ApiResponse.<CursorPage<MessageDto>>builder().success(true).data(page).build());
+    }
+
     @PutMapping("/conversations/{conversationId}/read")
-    public ResponseEntity<ApiResponse<Void>> markRead(@PathVariable Long conversationId) {
+    public ResponseEntity<ApiResponse<ReadReceiptDto>> markRead(@PathVariable Long conversationId) {
         Long currentUserId = currentUserId();
-        messageService.markConversationRead(currentUserId, conversationId);
-        return ResponseEntity.ok(ApiResponse.<Void>builder().success(true).message("Conversation marked as read").build());
+        ReadReceiptDto receipt = messageService.markConversationRead(currentUserId, conversationId);
+        if (receipt != null) {
+            messagingTemplate.convertAndSend("/topic/messages." + conversationId, receipt);
+        }
+        return ResponseEntity.ok(ApiResponse.<ReadReceiptDto>builder().success(true).message("Conversation marked as read").data(receipt).build());
     }
 
     @GetMapping("/unread-count")
@@ -23,7 +23,7 @@ public class MessageController {
     private final MessageService messageService;
     private final SimpMessagingTemplate messagingTemplate;
 
-    @MessageMapping("/chat.send")
+    @MessageMapping("chat.send")
     public void send(@Valid SendMessageRequest request, Principal principal) {
         Long senderId = Long.parseLong(principal.getName());
 
@@ -35,6 +35,6 @@ public class MessageController {
                 request.getClientMessageId()
         );
 
-        messagingTemplate.convertAndSend("/topic/messages/" + message.getConversationId(), message);
+        messagingTemplate.convertAndSend("/topic/messages." + message.getConversationId(), message);
     }
 }
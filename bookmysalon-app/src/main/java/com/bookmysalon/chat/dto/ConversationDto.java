@@ -21,6 +21,7 @@ public class ConversationDto {
     private Long customerId;
     private Long salonOwnerId;
     private MessageDto lastMessage;
+    private Integer unreadCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,32 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pushed on the conversation topic when the reader has read every message addressed to them up to {@code upToMessageId}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadReceiptDto {
+    public static final String TYPE = "READ_RECEIPT";
+
+    @Builder.Default
+    private String type = TYPE;
+    private Long conversationId;
+    private Long readerId;
+    private Long upToMessageId;
+    private int readCount;
+    private LocalDateTime readAt;
+}
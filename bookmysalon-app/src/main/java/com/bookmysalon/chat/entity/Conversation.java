@@ -23,7 +23,9 @@ import java.time.LocalDateTime;
         },
         indexes = {
                 @Index(name = "idx_conversation_customer", columnList = "customer_id"),
-                @Index(name = "idx_conversation_owner", columnList = "salon_owner_id")
+                @Index(name = "idx_conversation_owner", columnList = "salon_owner_id"),
+                @Index(name = "idx_conversation_customer_updated", columnList = "customer_id, updated_at"),
+                @Index(name = "idx_conversation_owner_updated", columnList = "salon_owner_id, updated_at")
         }
 )
 @Data
@@ -41,6 +43,24 @@ public class Conversation {
     @Column(name = "salon_owner_id", nullable = false)
     private Long salonOwnerId;
 
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_sender_id")
+    private Long lastMessageSenderId;
+
+    @Column(name = "last_message_preview", length = 200)
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "customer_unread_count", nullable = false)
+    private Integer customerUnreadCount = 0;
+
+    @Column(name = "salon_owner_unread_count", nullable = false)
+    private Integer salonOwnerUnreadCount = 0;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
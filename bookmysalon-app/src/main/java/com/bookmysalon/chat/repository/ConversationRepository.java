@@ -6,10 +6,13 @@
 package com.bookmysalon.chat.repository;
 
 import com.bookmysalon.chat.entity.Conversation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,9 +27,75 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
             """)
     List<Conversation> findAllForUser(@Param("userId") Long userId);
 
+    @Query("""
+            select c from Conversation c
+            where (c.customerId = :userId or c.salonOwnerId = :userId)
+              and (c.updatedAt < :beforeTime or (c.updatedAt = :beforeTime and c.id < :beforeId))
+            order by c.updatedAt desc, c.id desc
+            """)
+    List<Conversation> findInboxPage(@Param("userId") Long userId,
+                                     @Param("beforeTime") LocalDateTime beforeTime,
+                                     @Param("beforeId") Long beforeId,
+                                     Pageable pageable);
+
+    @Modifying
+    @Query("""
+            update Conversation c
+            set c.lastMessageId = :messageId,
+                c.lastMessageSenderId = :senderId,
+                c.lastMessagePreview = :preview,
+                c.lastMessageAt = :sentAt,
+                c.updatedAt = :sentAt,
+                c.customerUnreadCount = c.customerUnreadCount + case when c.customerId = :receiverId then 1 else 0 end,
+                c.salonOwnerUnreadCount = c.salonOwnerUnreadCount + case when c.salonOwnerId = :receiverId then 1 else 0 end
+            where c.id = :conversationId
+            """)
+    int recordMessage(@Param("conversationId") Long conversationId,
+                      @Param("messageId") Long messageId,
+                      @Param("senderId") Long senderId,
+                      @Param("receiverId") Long receiverId,
+                      @Param("preview") String preview,
+                      @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Subtracts the messages just marked read from the user's counter, never going below zero, so messages
+     * that arrived after the read stay counted. Also assigns updated_at to itself so MySQL's
+     * ON UPDATE CURRENT_TIMESTAMP does not reorder the inbox on read.
+     */
+    @Modifying
+    @Query("""
+            update Conversation c
+            set c.customerUnreadCount = case when c.customerId = :userId
+                    then (case when c.customerUnreadCount > :readCount then c.customerUnreadCount - :readCount else 0 end)
+                    else c.customerUnreadCount end,
+                c.salonOwnerUnreadCount = case when c.salonOwnerId = :userId
+                    then (case when c.salonOwnerUnreadCount > :readCount then c.salonOwnerUnreadCount - :readCount else 0 end)
+                    else c.salonOwnerUnreadCount end,
+                c.updatedAt = c.updatedAt
+            where c.id = :conversationId
+            """)
+    int decrementUnread(@Param("conversationId") Long conversationId,
+                        @Param("userId") Long userId,
+                        @Param("readCount") int readCount);
+
+    @Query("""
+            select coalesce(sum(case when c.customerId = :userId then c.customerUnreadCount else c.salonOwnerUnreadCount end), 0)
+            from Conversation c
+            where c.customerId = :userId or c.salonOwnerId = :userId
+            """)
+    long sumUnreadForUser(@Param("userId") Long userId);
+
+    @Query("select c.customerId as customerId, c.salonOwnerId as salonOwnerId from Conversation c where c.id = :conversationId")
+    Optional<ParticipantsView> findParticipantsById(@Param("conversationId") Long conversationId);
+
     @Query("""
             select count(c) > 0 from Conversation c
             where c.id = :conversationId and (c.customerId = :userId or c.salonOwnerId = :userId)
             """)
     boolean isParticipant(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
+
+    interface ParticipantsView {
+        Long getCustomerId();
+        Long getSalonOwnerId();
+    }
 }
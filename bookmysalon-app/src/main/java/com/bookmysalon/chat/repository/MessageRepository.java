@@ -9,7 +9,11 @@ import com.bookmysalon.chat.entity.Message;
 import com.bookmysalon.chat.entity.MessageStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,9 +23,68 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
 
     List<Message> findByConversationIdOrderByCreatedAtDesc(Long conversationId, Pageable pageable);
 
+    @Query("""
+            select m from Message m
+            where m.conversationId = :conversationId
+            and (m.createdAt < :beforeTime or (m.createdAt = :beforeTime and m.id < :beforeId))
+            order by m.createdAt desc, m.id desc
+            """)
+    List<Message> findHistoryBefore(@Param("conversationId") Long conversationId,
+                                    @Param("beforeTime") LocalDateTime beforeTime,
+                                    @Param("beforeId") Long beforeId,
+                                    Pageable pageable);
+
+    @Query("""
+            select m from Message m
+            where m.conversationId = :conversationId
+            and (m.createdAt > :afterTime or (m.createdAt = :afterTime and m.id > :afterId))
+            order by m.createdAt asc, m.id asc
+            """)
+    List<Message> findHistoryAfter(@Param("conversationId") Long conversationId,
+                                   @Param("afterTime") LocalDateTime afterTime,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    /**
+     * Messages after the given position in every conversation of the user, walking each conversation's
+     * (conversation_id, created_at) index range instead of scanning by participant.
+     */
+    @Query("""
+            select m from Message m
+            where m.conversationId in (
+                select c.id from Conversation c where c.customerId = :userId or c.salonOwnerId = :userId
+            )
+            and (m.createdAt > :afterTime or (m.createdAt = :afterTime and m.id > :afterId))
+            order by m.createdAt asc, m.id asc
+            """)
+    List<Message> findSyncPage(@Param("userId") Long userId,
+                               @Param("afterTime") LocalDateTime afterTime,
+                               @Param("afterId") Long afterId,
+                               Pageable pageable);
+
     Optional<Message> findByClientMessageId(String clientMessageId);
 
     long countByReceiverIdAndStatusNot(Long receiverId, MessageStatus status);
 
-    List<Message> findByConversationIdAndReceiverIdAndStatusNot(Long conversationId, Long receiverId, MessageStatus status);
+    @Query("""
+            select max(m.id) from Message m
+            where m.conversationId = :conversationId and m.receiverId = :receiverId
+            and m.status <> com.bookmysalon.chat.entity.MessageStatus.READ
+            """)
+    Long findMaxUnreadId(@Param("conversationId") Long conversationId, @Param("receiverId") Long receiverId);
+
+    @Modifying
+    @Query("""
+            update Message m
+            set m.status = com.bookmysalon.chat.entity.MessageStatus.READ,
+                m.readAt = :readAt,
+                m.deliveredAt = coalesce(m.deliveredAt, :readAt)
+            where m.conversationId = :conversationId and m.receiverId = :receiverId
+            and m.id <= :upToMessageId
+            and m.status <> com.bookmysalon.chat.entity.MessageStatus.READ
+            """)
+    int markReadUpTo(@Param("conversationId") Long conversationId,
+                     @Param("receiverId") Long receiverId,
+                     @Param("upToMessageId") Long upToMessageId,
+                     @Param("readAt") LocalDateTime readAt);
 }
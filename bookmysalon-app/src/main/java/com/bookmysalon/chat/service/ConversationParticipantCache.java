@@ -0,0 +1,78 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.chat.service;
+
+import com.bookmysalon.chat.entity.Conversation;
+import com.bookmysalon.chat.repository.ConversationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Conversation id to (customerId, salonOwnerId), which never changes once a conversation exists.
+ * Direct-mapped on the raw id into a fixed power-of-two table: a colliding id simply replaces the slot
+ * and is reloaded on its next miss, so memory stays bounded without locks or eviction bookkeeping.
+ */
+@Component
+public class ConversationParticipantCache {
+
+    private final ConversationRepository conversationRepository;
+    private final AtomicReferenceArray<Participants> slots;
+    private final int mask;
+
+    public ConversationParticipantCache(ConversationRepository conversationRepository,
+                                        @Value("${app.chat.participant-cache-size:65536}") int size) {
+        this.conversationRepository = conversationRepository;
+        int capacity = Integer.highestOneBit(Math.max(16, Math.min(size, 1 << 24)) * 2 - 1);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Participants of the conversation, or {@code null} when it does not exist.
+     */
+    public Participants get(long conversationId) {
+        int slot = slot(conversationId);
+        Participants cached = slots.get(slot);
+        if (cached != null && cached.conversationId() == conversationId) {
+            return cached;
+        }
+
+        Participants loaded = conversationRepository.findParticipantsById(conversationId)
+                .map(view -> new Participants(conversationId, view.getCustomerId(), view.getSalonOwnerId()))
+                .orElse(null);
+        if (loaded != null) {
+            slots.set(slot, loaded);
+        }
+        return loaded;
+    }
+
+    public boolean isParticipant(long conversationId, long userId) {
+        Participants participants = get(conversationId);
+        return participants != null && participants.includes(userId);
+    }
+
+    public void put(Conversation conversation) {
+        if (conversation.getId() == null) {
+            return;
+        }
+        long conversationId = conversation.getId();
+        slots.set(slot(conversationId), new Participants(conversationId, conversation.getCustomerId(), conversation.getSalonOwnerId()));
+    }
+
+    private int slot(long conversationId) {
+        long h = conversationId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    public record Participants(long conversationId, long customerId, long salonOwnerId) {
+
+        public boolean includes(long userId) {
+            return userId == customerId || userId == salonOwnerId;
+        }
+    }
+}
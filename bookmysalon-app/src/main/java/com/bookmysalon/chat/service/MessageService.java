@@ -7,15 +7,19 @@ package com.bookmysalon.chat.service;
 
 import com.bookmysalon.chat.dto.ConversationDto;
 import com.bookmysalon.chat.dto.MessageDto;
+import com.bookmysalon.chat.dto.ReadReceiptDto;
+import com.bookmysalon.dto.response.CursorPage;
 
 import java.util.List;
 
 public interface MessageService {
     ConversationDto getOrCreateConversation(Long currentUserId, Long participantId);
     List<ConversationDto> getConversations(Long currentUserId);
-    List<MessageDto> getChatHistory(Long currentUserId, Long conversationId, int limit);
+    CursorPage<ConversationDto> getConversationPage(Long currentUserId, String cursor, Integer limit);
+    List<MessageDto> getChatHistory(Long currentUserId, Long conversationId, Long beforeMessageId, Long afterMessageId, int limit);
+    CursorPage<MessageDto> syncMessages(Long currentUserId, Long sinceMessageId, Integer limit);
     MessageDto sendMessage(Long currentUserId, Long conversationId, Long receiverId, String content, String clientMessageId);
-    void markConversationRead(Long currentUserId, Long conversationId);
+    ReadReceiptDto markConversationRead(Long currentUserId, Long conversationId);
     long getUnreadMessageCount(Long currentUserId);
     boolean isParticipant(Long conversationId, Long userId);
 }
@@ -0,0 +1,75 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.chat.service;
+
+import com.bookmysalon.chat.entity.Message;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Writes a chat message with one statement. A repeated client_message_id hits the unique index and
+ * turns into a no-op update instead of an exception, so the surrounding transaction stays usable
+ * and the caller can return the row that is already there.
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO messages"
+            + " (conversation_id, sender_id, receiver_id, client_message_id, content, status, created_at, delivered_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE client_message_id = client_message_id";
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the message and assigns its id, or returns {@code false} without writing when its
+     * client_message_id already exists. A duplicate is recognised by the missing generated key: with
+     * Connector/J's default found-rows mode the no-op update still reports one affected row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean insertIfAbsent(Message message) {
+        Calendar utc = Calendar.getInstance(UTC);
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        int affected = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"});
+            ps.setLong(1, message.getConversationId());
+            ps.setLong(2, message.getSenderId());
+            ps.setLong(3, message.getReceiverId());
+            if (message.getClientMessageId() == null) {
+                ps.setNull(4, Types.VARCHAR);
+            } else {
+                ps.setString(4, message.getClientMessageId());
+            }
+            ps.setString(5, message.getContent());
+            ps.setString(6, message.getStatus().name());
+            ps.setTimestamp(7, Timestamp.valueOf(message.getCreatedAt()), utc);
+            if (message.getDeliveredAt() == null) {
+                ps.setNull(8, Types.TIMESTAMP);
+            } else {
+                ps.setTimestamp(8, Timestamp.valueOf(message.getDeliveredAt()), utc);
+            }
+            return ps;
+        }, keyHolder);
+
+        if (affected != 1 || keyHolder.getKey() == null) {
+            return false;
+        }
+        message.setId(keyHolder.getKey().longValue());
+        return true;
+    }
+}
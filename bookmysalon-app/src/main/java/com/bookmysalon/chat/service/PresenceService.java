@@ -6,7 +6,7 @@
 package com.bookmysalon.chat.service;
 
 public interface PresenceService {
-    void onConnect(Long userId);
-    void onDisconnect(Long userId);
+    void onConnect(Long userId, String sessionId);
+    void onDisconnect(Long userId, String sessionId);
     boolean isOnline(Long userId);
 }
@@ -0,0 +1,18 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.chat.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries presence updates between application nodes. Without a transport bean presence stays node-local.
+ */
+public interface PresenceTransport {
+
+    void publish(PresenceUpdate update);
+
+    void onUpdate(Consumer<PresenceUpdate> listener);
+}
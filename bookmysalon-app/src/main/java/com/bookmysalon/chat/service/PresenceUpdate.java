@@ -0,0 +1,13 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.chat.service;
+
+/**
+ * Presence published by one node. A snapshot replaces everything known about that node and renews its lease;
+ * otherwise {@code online} and {@code offline} are the coalesced changes since the last update.
+ */
+public record PresenceUpdate(String nodeId, boolean snapshot, long[] online, long[] offline, long leaseMs) {
+}
@@ -7,18 +7,23 @@ package com.bookmysalon.chat.service.impl;
 
 import com.bookmysalon.chat.dto.ConversationDto;
 import com.bookmysalon.chat.dto.MessageDto;
+import com.bookmysalon.chat.dto.ReadReceiptDto;
 import com.bookmysalon.chat.entity.Conversation;
 import com.bookmysalon.chat.entity.Message;
 import com.bookmysalon.chat.entity.MessageStatus;
 import com.bookmysalon.chat.repository.ConversationRepository;
 import com.bookmysalon.chat.repository.MessageRepository;
+import com.bookmysalon.chat.service.ConversationParticipantCache;
 import com.bookmysalon.chat.service.MessageService;
+import com.bookmysalon.chat.service.MessageWriter;
 import com.bookmysalon.chat.service.PresenceService;
 import com.bookmysalon.entity.NotificationType;
+import com.bookmysalon.dto.response.CursorPage;
 import com.bookmysalon.entity.User;
 import com.bookmysalon.entity.UserRole;
 import com.bookmysalon.repository.UserRepository;
 import com.bookmysalon.service.NotificationService;
+import com.bookmysalon.service.pagination.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
@@ -26,7 +31,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Objects;
 
@@ -35,8 +40,13 @@ import java.util.Objects;
 @Transactional
 public class MessageServiceImpl implements MessageService {
 
+    private static final int PREVIEW_LENGTH = 200;
+    private static final LocalDateTime PAGE_UPPER_BOUND = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final ConversationRepository conversationRepository;
+    private final ConversationParticipantCache participantCache;
     private final MessageRepository messageRepository;
+    private final MessageWriter messageWriter;
     private final UserRepository userRepository;
     private final PresenceService presenceService;
     private final NotificationService notificationService;
@@ -68,8 +78,9 @@ public class MessageServiceImpl implements MessageService {
         Conversation conversation = conversationRepository
                 .findByCustomerIdAndSalonOwnerId(customerId, salonOwnerId)
                 .orElseGet(() -> conversationRepository.save(buildConversation(customerId, salonOwnerId)));
+        participantCache.put(conversation);
 
-        return mapConversation(conversation, null);
+        return mapConversation(conversation, currentUserId);
     }
 
     @Override
@@ -77,32 +88,94 @@ public class MessageServiceImpl implements MessageService {
     public List<ConversationDto> getConversations(Long currentUserId) {
         return conversationRepository.findAllForUser(currentUserId)
                 .stream()
-                .map(conversation -> {
-                    Message latestMessage = messageRepository
-                            .findByConversationIdOrderByCreatedAtDesc(conversation.getId(), PageRequest.of(0, 1))
-                            .stream()
-                            .findFirst()
-                            .orElse(null);
-                    return mapConversation(conversation, latestMessage);
-                })
+                .map(conversation -> mapConversation(conversation, currentUserId))
                 .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<MessageDto> getChatHistory(Long currentUserId, Long conversationId, int limit) {
+    public CursorPage<ConversationDto> getConversationPage(Long currentUserId, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        KeysetCursor before = KeysetCursor.decode(cursor);
+
+        List<Conversation> rows = conversationRepository.findInboxPage(
+                currentUserId,
+                before == null ? PAGE_UPPER_BOUND : before.time(),
+                before == null ? Long.MAX_VALUE : before.id(),
+                PageRequest.of(0, pageSize + 1)
+        );
+        boolean hasMore = rows.size() > pageSize;
+        List<Conversation> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        Conversation last = pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1);
+
+        return CursorPage.<ConversationDto>builder()
+                .items(pageRows.stream().map(conversation -> mapConversation(conversation, currentUserId)).toList())
+                .nextCursor(hasMore ? new KeysetCursor(last.getUpdatedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MessageDto> getChatHistory(Long currentUserId,
+                                           Long conversationId,
+                                           Long beforeMessageId,
+                                           Long afterMessageId,
+                                           int limit) {
         ensureParticipant(conversationId, currentUserId);
+        if (beforeMessageId != null && afterMessageId != null) {
+            throw new IllegalArgumentException("Use either beforeMessageId or afterMessageId, not both");
+        }
 
-        int safeLimit = Math.max(1, Math.min(limit, 200));
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, KeysetCursor.MAX_LIMIT)));
 
-        List<MessageDto> messages = messageRepository
-                .findByConversationIdOrderByCreatedAtDesc(conversationId, PageRequest.of(0, safeLimit))
+        if (afterMessageId != null) {
+            Message after = loadAnchor(afterMessageId, conversationId);
+            return messageRepository.findHistoryAfter(conversationId, after.getCreatedAt(), after.getId(), page)
+                    .stream()
+                    .map(this::mapMessage)
+                    .toList();
+        }
+
+        Message before = beforeMessageId == null ? null : loadAnchor(beforeMessageId, conversationId);
+        List<MessageDto> newestFirst = messageRepository.findHistoryBefore(
+                        conversationId,
+                        before == null ? PAGE_UPPER_BOUND : before.getCreatedAt(),
+                        before == null ? Long.MAX_VALUE : before.getId(),
+                        page
+                )
                 .stream()
                 .map(this::mapMessage)
-                .sorted(Comparator.comparing(MessageDto::getCreatedAt))
                 .toList();
+        return newestFirst.reversed();
+    }
 
-        return messages;
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MessageDto> syncMessages(Long currentUserId, Long sinceMessageId, Integer limit) {
+        if (sinceMessageId == null) {
+            throw new IllegalArgumentException("sinceMessageId is required");
+        }
+        int pageSize = KeysetCursor.clampLimit(limit);
+        Message since = messageRepository.findById(sinceMessageId)
+                .filter(message -> currentUserId.equals(message.getSenderId()) || currentUserId.equals(message.getReceiverId()))
+                .orElseThrow(() -> new IllegalArgumentException("Message not found: " + sinceMessageId));
+
+        List<Message> rows = messageRepository.findSyncPage(
+                currentUserId,
+                since.getCreatedAt(),
+                since.getId(),
+                PageRequest.of(0, pageSize + 1)
+        );
+        boolean hasMore = rows.size() > pageSize;
+        List<Message> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        Message last = pageRows.isEmpty() ? since : pageRows.get(pageRows.size() - 1);
+
+        return CursorPage.<MessageDto>builder()
+                .items(pageRows.stream().map(this::mapMessage).toList())
+                .nextCursor(String.valueOf(last.getId()))
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
@@ -118,12 +191,8 @@ public class MessageServiceImpl implements MessageService {
             throw new IllegalArgumentException("Message content cannot be blank");
         }
 
-        if (clientMessageId != null && !clientMessageId.isBlank()) {
-            Message existing = messageRepository.findByClientMessageId(clientMessageId).orElse(null);
-            if (existing != null && existing.getSenderId().equals(currentUserId)) {
-                return mapMessage(existing);
-            }
-        }
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        boolean online = presenceService.isOnline(receiverId);
 
         Message message = new Message();
         message.setConversationId(conversationId);
@@ -131,59 +200,72 @@ public class MessageServiceImpl implements MessageService {
         message.setReceiverId(receiverId);
         message.setContent(content.trim());
         message.setClientMessageId(clientMessageId == null || clientMessageId.isBlank() ? null : clientMessageId.trim());
-        message.setStatus(MessageStatus.SENT);
-
-        Message saved = messageRepository.save(message);
-
-        if (presenceService.isOnline(receiverId)) {
-            saved.setStatus(MessageStatus.DELIVERED);
-            saved.setDeliveredAt(LocalDateTime.now());
-            saved = messageRepository.save(saved);
+        message.setStatus(online ? MessageStatus.DELIVERED : MessageStatus.SENT);
+        message.setCreatedAt(now);
+        message.setDeliveredAt(online ? now : null);
+
+        if (!messageWriter.insertIfAbsent(message)) {
+            Message existing = messageRepository.findByClientMessageId(message.getClientMessageId())
+                    .orElseThrow(() -> new IllegalStateException("Duplicate message could not be loaded"));
+            if (!existing.getSenderId().equals(currentUserId)) {
+                throw new IllegalArgumentException("Client message id is already in use");
+            }
+            return mapMessage(existing);
         }
+        conversationRepository.recordMessage(
+                conversationId,
+                message.getId(),
+                currentUserId,
+                receiverId,
+                preview(message.getContent()),
+                message.getCreatedAt()
+        );
 
         notificationService.createAndPushNotification(
                 receiverId,
                 NotificationType.NEW_MESSAGE,
                 "You have a new message",
                 null,
-                saved.getConversationId(),
-                saved.getId()
+                message.getConversationId(),
+                message.getId()
         );
 
-        return mapMessage(saved);
+        return mapMessage(message);
     }
 
     @Override
-    public void markConversationRead(Long currentUserId, Long conversationId) {
+    public ReadReceiptDto markConversationRead(Long currentUserId, Long conversationId) {
         ensureParticipant(conversationId, currentUserId);
 
-        List<Message> unreadMessages = messageRepository
-                .findByConversationIdAndReceiverIdAndStatusNot(conversationId, currentUserId, MessageStatus.READ);
-
-        LocalDateTime now = LocalDateTime.now();
-        unreadMessages.forEach(message -> {
-            message.setStatus(MessageStatus.READ);
-            message.setReadAt(now);
-            if (message.getDeliveredAt() == null) {
-                message.setDeliveredAt(now);
-            }
-        });
+        Long upToMessageId = messageRepository.findMaxUnreadId(conversationId, currentUserId);
+        if (upToMessageId == null) {
+            return null;
+        }
 
-        if (!unreadMessages.isEmpty()) {
-            messageRepository.saveAll(unreadMessages);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int readCount = messageRepository.markReadUpTo(conversationId, currentUserId, upToMessageId, now);
+        if (readCount > 0) {
+            conversationRepository.decrementUnread(conversationId, currentUserId, readCount);
         }
+        return ReadReceiptDto.builder()
+                .conversationId(conversationId)
+                .readerId(currentUserId)
+                .upToMessageId(upToMessageId)
+                .readCount(readCount)
+                .readAt(now)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getUnreadMessageCount(Long currentUserId) {
-        return messageRepository.countByReceiverIdAndStatusNot(currentUserId, MessageStatus.READ);
+        return conversationRepository.sumUnreadForUser(currentUserId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean isParticipant(Long conversationId, Long userId) {
-        return conversationRepository.isParticipant(conversationId, userId);
+        return conversationId != null && userId != null && participantCache.isParticipant(conversationId, userId);
     }
 
     private Conversation buildConversation(Long customerId, Long salonOwnerId) {
@@ -193,8 +275,14 @@ public class MessageServiceImpl implements MessageService {
         return conversation;
     }
 
+    private Message loadAnchor(Long messageId, Long conversationId) {
+        return messageRepository.findById(messageId)
+                .filter(message -> message.getConversationId().equals(conversationId))
+                .orElseThrow(() -> new IllegalArgumentException("Message " + messageId + " is not in this conversation"));
+    }
+
     private void ensureParticipant(Long conversationId, Long userId) {
-        if (!conversationRepository.isParticipant(conversationId, userId)) {
+        if (conversationId == null || userId == null || !participantCache.isParticipant(conversationId, userId)) {
             throw new AccessDeniedException("You are not allowed to access this conversation");
         }
     }
@@ -232,12 +320,32 @@ public class MessageServiceImpl implements MessageService {
                 .build();
     }
 
-    private ConversationDto mapConversation(Conversation conversation, Message latestMessage) {
+    private String preview(String content) {
+        return content.length() <= PREVIEW_LENGTH ? content : content.substring(0, PREVIEW_LENGTH);
+    }
+
+    private ConversationDto mapConversation(Conversation conversation, Long viewerId) {
+        MessageDto lastMessage = null;
+        if (conversation.getLastMessageId() != null) {
+            Long senderId = conversation.getLastMessageSenderId();
+            lastMessage = MessageDto.builder()
+                    .id(conversation.getLastMessageId())
+                    .conversationId(conversation.getId())
+                    .senderId(senderId)
+                    .receiverId(conversation.getCustomerId().equals(senderId) ? conversation.getSalonOwnerId() : conversation.getCustomerId())
+                    .content(conversation.getLastMessagePreview())
+                    .createdAt(conversation.getLastMessageAt())
+                    .build();
+        }
+
         return ConversationDto.builder()
                 .id(conversation.getId())
                 .customerId(conversation.getCustomerId())
                 .salonOwnerId(conversation.getSalonOwnerId())
-                .lastMessage(latestMessage == null ? null : mapMessage(latestMessage))
+                .lastMessage(lastMessage)
+                .unreadCount(conversation.getCustomerId().equals(viewerId)
+                        ? conversation.getCustomerUnreadCount()
+                        : conversation.getSalonOwnerUnreadCount())
                 .createdAt(conversation.getCreatedAt())
                 .updatedAt(conversation.getUpdatedAt())
                 .build();
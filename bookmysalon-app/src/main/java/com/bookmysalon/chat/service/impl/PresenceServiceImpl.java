@@ -6,40 +6,193 @@
 package com.bookmysalon.chat.service.impl;
 
 import com.bookmysalon.chat.service.PresenceService;
+import com.bookmysalon.chat.service.PresenceTransport;
+import com.bookmysalon.chat.service.PresenceUpdate;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Users online on this node are tracked per WebSocket session, so duplicate or missed disconnect events cannot
+ * leave a count stuck. Users on other nodes come from their presence updates and are held under a lease that
+ * each node renews with a snapshot heartbeat; a node that stops heartbeating drops out once its lease expires.
+ * Local changes are coalesced and published in batches. {@link #isOnline} only reads concurrent maps.
+ */
+@Slf4j
 @Service
 public class PresenceServiceImpl implements PresenceService {
 
-    private final ConcurrentHashMap<Long, AtomicInteger> onlineUsers = new ConcurrentHashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final PresenceTransport transport;
+
+    @Value("${app.chat.presence.lease-ms:30000}")
+    private long leaseMs;
+
+    private final ConcurrentHashMap<Long, Set<String>> localSessions = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<Long> published = new HashSet<>();
+
+    private final ConcurrentHashMap<Long, Integer> remoteNodeCounts = new ConcurrentHashMap<>();
+    private final Map<String, NodeLease> remoteNodes = new HashMap<>();
+
+    public PresenceServiceImpl(ObjectProvider<PresenceTransport> transportProvider) {
+        this.transport = transportProvider.getIfAvailable();
+        if (transport != null) {
+            transport.onUpdate(this::apply);
+        }
+    }
 
     @Override
-    public void onConnect(Long userId) {
-        onlineUsers.compute(userId, (id, count) -> {
-            if (count == null) {
-                return new AtomicInteger(1);
-            }
-            count.incrementAndGet();
-            return count;
+    public void onConnect(Long userId, String sessionId) {
+        localSessions.compute(userId, (id, sessions) -> {
+            Set<String> next = sessions == null ? ConcurrentHashMap.newKeySet() : sessions;
+            next.add(sessionId);
+            return next;
         });
+        dirty.add(userId);
     }
 
     @Override
-    public void onDisconnect(Long userId) {
-        onlineUsers.computeIfPresent(userId, (id, count) -> {
-            if (count.decrementAndGet() <= 0) {
-                return null;
-            }
-            return count;
+    public void onDisconnect(Long userId, String sessionId) {
+        localSessions.computeIfPresent(userId, (id, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
         });
+        dirty.add(userId);
     }
 
     @Override
     public boolean isOnline(Long userId) {
-        AtomicInteger count = onlineUsers.get(userId);
-        return count != null && count.get() > 0;
+        return userId != null && (localSessions.containsKey(userId) || remoteNodeCounts.containsKey(userId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.presence.coalesce-ms:500}")
+    public synchronized void publishChanges() {
+        if (transport == null || dirty.isEmpty()) {
+            dirty.clear();
+            return;
+        }
+
+        List<Long> online = new ArrayList<>();
+        List<Long> offline = new ArrayList<>();
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            Long userId = it.next();
+            it.remove();
+            boolean isLocal = localSessions.containsKey(userId);
+            if (isLocal && published.add(userId)) {
+                online.add(userId);
+            } else if (!isLocal && published.remove(userId)) {
+                offline.add(userId);
+            }
+        }
+        if (!online.isEmpty() || !offline.isEmpty()) {
+            transport.publish(new PresenceUpdate(nodeId, false, toArray(online), toArray(offline), leaseMs));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.chat.presence.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        expireRemoteNodes();
+        if (transport != null) {
+            publishSnapshot(leaseMs);
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (transport != null) {
+            localSessions.clear();
+            publishSnapshot(0);
+        }
+    }
+
+    void apply(PresenceUpdate update) {
+        if (nodeId.equals(update.nodeId())) {
+            return;
+        }
+        synchronized (remoteNodes) {
+            NodeLease lease = remoteNodes.computeIfAbsent(update.nodeId(), id -> new NodeLease());
+            lease.expiresAtEpochMs = System.currentTimeMillis() + update.leaseMs();
+            if (update.snapshot()) {
+                Set<Long> next = new HashSet<>();
+                for (long userId : update.online()) {
+                    next.add(userId);
+                }
+                for (Long userId : lease.users) {
+                    if (!next.contains(userId)) {
+                        decrement(userId);
+                    }
+                }
+                for (Long userId : next) {
+                    if (!lease.users.contains(userId)) {
+                        increment(userId);
+                    }
+                }
+                lease.users = next;
+            } else {
+                for (long userId : update.online()) {
+                    if (lease.users.add(userId)) {
+                        increment(userId);
+                    }
+                }
+                for (long userId : update.offline()) {
+                    if (lease.users.remove(userId)) {
+                        decrement(userId);
+                    }
+                }
+            }
+        }
+    }
+
+    private synchronized void publishSnapshot(long lease) {
+        dirty.clear();
+        published.clear();
+        published.addAll(localSessions.keySet());
+        transport.publish(new PresenceUpdate(nodeId, true, toArray(published), new long[0], lease));
+    }
+
+    private void expireRemoteNodes() {
+        long now = System.currentTimeMillis();
+        synchronized (remoteNodes) {
+            for (Iterator<Map.Entry<String, NodeLease>> it = remoteNodes.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, NodeLease> entry = it.next();
+                if (entry.getValue().expiresAtEpochMs <= now) {
+                    entry.getValue().users.forEach(this::decrement);
+                    it.remove();
+                    log.info("Presence lease of node {} expired", entry.getKey());
+                }
+            }
+        }
+    }
+
+    private void increment(Long userId) {
+        remoteNodeCounts.merge(userId, 1, Integer::sum);
+    }
+
+    private void decrement(Long userId) {
+        remoteNodeCounts.computeIfPresent(userId, (id, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private static long[] toArray(Collection<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static final class NodeLease {
+        private long expiresAtEpochMs;
+        private Set<Long> users = new HashSet<>();
     }
 }
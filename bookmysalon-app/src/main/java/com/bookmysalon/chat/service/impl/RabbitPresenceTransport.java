@@ -0,0 +1,74 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.chat.service.impl;
+
+import com.bookmysalon.chat.service.PresenceTransport;
+import com.bookmysalon.chat.service.PresenceUpdate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Fans presence updates out to every node over a non-durable exchange. Each node consumes through its own
+ * exclusive auto-delete queue, so a crashed node leaves nothing behind on the broker. A lost update is
+ * repaired by the next snapshot heartbeat, so publish failures are only logged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.chat.presence.transport", havingValue = "rabbit")
+public class RabbitPresenceTransport implements PresenceTransport {
+
+    public static final String PRESENCE_EXCHANGE = "chat-presence-exchange";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+
+    private volatile Consumer<PresenceUpdate> listener = update -> {
+    };
+
+    @Override
+    public void publish(PresenceUpdate update) {
+        try {
+            MessageProperties properties = new MessageProperties();
+            properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            rabbitTemplate.send(PRESENCE_EXCHANGE, "", new Message(objectMapper.writeValueAsBytes(update), properties));
+        } catch (AmqpException | IOException e) {
+            log.warn("Could not publish presence update from node {}: {}", update.nodeId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onUpdate(Consumer<PresenceUpdate> listener) {
+        this.listener = listener;
+    }
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(name = PRESENCE_EXCHANGE, type = ExchangeTypes.FANOUT, durable = "false")
+    ))
+    public void receive(Message message) {
+        try {
+            listener.accept(objectMapper.readValue(message.getBody(), PresenceUpdate.class));
+        } catch (IOException e) {
+            log.warn("Dropping unreadable presence update: {}", e.getMessage());
+        }
+    }
+}
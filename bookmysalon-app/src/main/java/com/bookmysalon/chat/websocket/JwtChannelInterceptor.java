@@ -5,10 +5,10 @@
  */
 package com.bookmysalon.chat.websocket;
 
-import com.bookmysalon.chat.repository.ConversationRepository;
+import com.bookmysalon.chat.service.ConversationParticipantCache;
 import com.bookmysalon.security.CustomUserPrincipal;
-import com.bookmysalon.security.CustomUserDetailsService;
-import com.bookmysalon.security.JwtService;
+import com.bookmysalon.security.JwtPrincipalResolver;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -20,16 +20,19 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
 public class JwtChannelInterceptor implements ChannelInterceptor {
 
     private static final String BEARER_PREFIX = "Bearer ";
+    private static final String CONVERSATION_TOPIC = "/topic/messages";
+    private static final Pattern CONVERSATION_DESTINATION = Pattern.compile("/topic/messages\\.(\\d{1,18})");
 
-    private final JwtService jwtService;
-    private final CustomUserDetailsService userDetailsService;
-    private final ConversationRepository conversationRepository;
+    private final JwtPrincipalResolver principalResolver;
+    private final ConversationParticipantCache participantCache;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -44,9 +47,10 @@ public class JwtChannelInterceptor implements ChannelInterceptor {
                 throw new AccessDeniedException("Missing JWT token for WebSocket connection");
             }
 
-            String username = jwtService.extractUsername(token);
-            CustomUserPrincipal user = (CustomUserPrincipal) userDetailsService.loadUserByUsername(username);
-            if (!jwtService.isTokenValid(token, user)) {
+            CustomUserPrincipal user;
+            try {
+                user = principalResolver.resolve(token);
+            } catch (JwtException | IllegalArgumentException ex) {
                 throw new AccessDeniedException("Invalid JWT token for WebSocket connection");
             }
 
@@ -66,15 +70,25 @@ public class JwtChannelInterceptor implements ChannelInterceptor {
         }
 
         String destination = accessor.getDestination();
-        if (destination == null || !destination.startsWith("/topic/messages/")) {
+        if (destination == null) {
+            return;
+        }
+        // Broker wildcards would subscribe to every conversation topic at once.
+        if (destination.indexOf('*') >= 0 || destination.indexOf('#') >= 0) {
+            throw new AccessDeniedException("Wildcard subscriptions are not allowed");
+        }
+        if (!destination.startsWith(CONVERSATION_TOPIC)) {
             return;
         }
 
-        String conversationIdRaw = destination.substring("/topic/messages/".length());
-        Long userId = Long.parseLong(accessor.getUser().getName());
-        Long conversationId = Long.parseLong(conversationIdRaw);
+        Matcher matcher = CONVERSATION_DESTINATION.matcher(destination);
+        if (!matcher.matches()) {
+            throw new AccessDeniedException("Invalid conversation topic");
+        }
+        long userId = Long.parseLong(accessor.getUser().getName());
+        long conversationId = Long.parseLong(matcher.group(1));
 
-        if (!conversationRepository.isParticipant(conversationId, userId)) {
+        if (!participantCache.isParticipant(conversationId, userId)) {
             throw new AccessDeniedException("Not allowed to subscribe this conversation");
         }
     }
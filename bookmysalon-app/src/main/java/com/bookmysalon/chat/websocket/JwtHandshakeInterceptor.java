@@ -6,8 +6,7 @@
 package com.bookmysalon.chat.websocket;
 
 import com.bookmysalon.security.CustomUserPrincipal;
-import com.bookmysalon.security.CustomUserDetailsService;
-import com.bookmysalon.security.JwtService;
+import com.bookmysalon.security.JwtPrincipalResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.ServerHttpRequest;
@@ -26,8 +25,7 @@ public class JwtHandshakeInterceptor implements HandshakeInterceptor {
 
     private static final String BEARER_PREFIX = "Bearer ";
 
-    private final JwtService jwtService;
-    private final CustomUserDetailsService userDetailsService;
+    private final JwtPrincipalResolver principalResolver;
 
     @Override
     public boolean beforeHandshake(ServerHttpRequest request,
@@ -40,12 +38,9 @@ public class JwtHandshakeInterceptor implements HandshakeInterceptor {
         }
 
         try {
-            String username = jwtService.extractUsername(token);
-            CustomUserPrincipal user = (CustomUserPrincipal) userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(token, user)) {
-                attributes.put("wsUserId", user.getId());
-                attributes.put("wsUsername", user.getUsername());
-            }
+            CustomUserPrincipal user = principalResolver.resolve(token);
+            attributes.put("wsUserId", user.getId());
+            attributes.put("wsUsername", user.getUsername());
         } catch (Exception ignored) {
         }
 
@@ -23,17 +23,18 @@ public class WebSocketPresenceListener {
 
     @EventListener
     public void onConnected(SessionConnectedEvent event) {
-        Long userId = extractUserId(StompHeaderAccessor.wrap(event.getMessage()).getUser());
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long userId = extractUserId(accessor.getUser());
         if (userId != null) {
-            presenceService.onConnect(userId);
+            presenceService.onConnect(userId, accessor.getSessionId());
         }
     }
 
     @EventListener
     public void onDisconnected(SessionDisconnectEvent event) {
-        Long userId = extractUserId(StompHeaderAccessor.wrap(event.getMessage()).getUser());
+        Long userId = extractUserId(event.getUser());
         if (userId != null) {
-            presenceService.onDisconnect(userId);
+            presenceService.onDisconnect(userId, event.getSessionId());
         }
     }
 
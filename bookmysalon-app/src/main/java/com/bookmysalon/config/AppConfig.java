@@ -5,15 +5,21 @@
  */
 package com.bookmysalon.config;
 
+import com.bookmysalon.security.BoundedBCryptPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class AppConfig {
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password.bcrypt-strength:10}") int strength,
+            @Value("${app.security.password.hashing-threads:2}") int threads,
+            @Value("${app.security.password.hashing-queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        return new BoundedBCryptPasswordEncoder(strength, threads, queueCapacity, meterRegistry);
     }
 }
@@ -55,7 +55,8 @@ public class SecurityConfig {
             ).permitAll()
             .requestMatchers(HttpMethod.GET, "/api/auth/health", "/api/user/public/**").permitAll()
             .requestMatchers("/ws/**").permitAll()
-            .requestMatchers("/actuator/**").permitAll();
+            .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+            .requestMatchers("/actuator/**").hasRole("ADMIN");
 
             if (oauth2Enabled) {
               auth.requestMatchers("/oauth2/**", "/login/oauth2/**").permitAll();
@@ -9,9 +9,11 @@ import com.bookmysalon.chat.websocket.ChatHandshakeHandler;
 import com.bookmysalon.chat.websocket.JwtChannelInterceptor;
 import com.bookmysalon.chat.websocket.JwtHandshakeInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -25,9 +27,51 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     private final ChatHandshakeHandler chatHandshakeHandler;
     private final JwtChannelInterceptor jwtChannelInterceptor;
 
+    @Value("${app.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${app.websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${app.websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${app.websocket.broker.relay.virtual-host:/}")
+    private String relayVirtualHost;
+
+    @Value("${app.websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${app.websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    /**
+     * "simple" keeps subscriptions in this JVM. "relay" forwards /topic and /queue to an external STOMP broker
+     * (RabbitMQ's STOMP plugin) and shares the user registry and unresolved user destinations between nodes
+     * over broadcast topics, so a push from any node reaches a user connected to any other.
+     * <p>
+     * RabbitMQ only accepts a single segment after /topic/ and /queue/, so destinations are dot-separated
+     * (e.g. /topic/messages.{conversationId}) in both modes.
+     */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setVirtualHost(relayVirtualHost)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else if ("simple".equalsIgnoreCase(brokerMode)) {
+            registry.enableSimpleBroker("/topic", "/queue");
+        } else {
+            throw new IllegalStateException("Unknown app.websocket.broker.mode: " + brokerMode);
+        }
+        registry.setPathMatcher(new AntPathMatcher("."));
         registry.setApplicationDestinationPrefixes("/app");
         registry.setUserDestinationPrefix("/user");
     }
@@ -0,0 +1,90 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.controller;
+
+import com.bookmysalon.dto.availability.SalonAvailabilityDto;
+import com.bookmysalon.dto.response.ApiResponse;
+import com.bookmysalon.exception.SalonNotFoundException;
+import com.bookmysalon.service.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/availability")
+@RequiredArgsConstructor
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    @GetMapping("/salon/{salonId}")
+    public ResponseEntity<ApiResponse<List<SalonAvailabilityDto>>> getSalonAvailability(
+            @PathVariable Long salonId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "1") int days,
+            @RequestParam(required = false) Set<Long> serviceOfferingIds,
+            @RequestParam(required = false) Integer durationMinutes,
+            @RequestParam(defaultValue = "15") int step
+    ) {
+        try {
+            List<SalonAvailabilityDto> availability = availabilityService.getSalonAvailability(
+                    salonId,
+                    date == null ? LocalDate.now() : date,
+                    days,
+                    serviceOfferingIds,
+                    durationMinutes,
+                    step
+            );
+            return ResponseEntity.ok(ApiResponse.<List<SalonAvailabilityDto>>builder()
+                    .success(true)
+                    .data(availability)
+                    .build());
+        } catch (SalonNotFoundException e) {
+            return ResponseEntity.status(404).body(ApiResponse.<List<SalonAvailabilityDto>>builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.status(400).body(ApiResponse.<List<SalonAvailabilityDto>>builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
+    @GetMapping("/city/{city}")
+    public ResponseEntity<ApiResponse<List<SalonAvailabilityDto>>> getCityAvailability(
+            @PathVariable String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "1") int days,
+            @RequestParam(defaultValue = "30") int durationMinutes,
+            @RequestParam(defaultValue = "15") int step
+    ) {
+        try {
+            List<SalonAvailabilityDto> availability = availabilityService.getCityAvailability(
+                    city,
+                    date == null ? LocalDate.now() : date,
+                    days,
+                    durationMinutes,
+                    step
+            );
+            return ResponseEntity.ok(ApiResponse.<List<SalonAvailabilityDto>>builder()
+                    .success(true)
+                    .data(availability)
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.status(400).body(ApiResponse.<List<SalonAvailabilityDto>>builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+}
@@ -8,18 +8,24 @@ package com.bookmysalon.controller;
 import com.bookmysalon.dto.BookingDto;
 import com.bookmysalon.dto.BookingRequestDto;
 import com.bookmysalon.dto.response.ApiResponse;
+import com.bookmysalon.dto.response.CursorPage;
+import com.bookmysalon.entity.BookingStatus;
 import com.bookmysalon.entity.Salon;
 import com.bookmysalon.repository.SalonRepository;
 import com.bookmysalon.security.CustomUserPrincipal;
 import com.bookmysalon.service.BookingService;
+import com.bookmysalon.service.idempotency.IdempotencyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -28,23 +34,29 @@ public class BookingController {
 
     private final BookingService bookingService;
     private final SalonRepository salonRepository;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/me")
-    public ResponseEntity<ApiResponse<BookingDto>> createMyBooking(@RequestBody BookingRequestDto bookingRequestDto) {
-        try {
-            Long currentUserId = currentUserId();
-            BookingDto booking = bookingService.createBooking(bookingRequestDto, currentUserId);
-            return ResponseEntity.ok(ApiResponse.<BookingDto>builder()
-                    .success(true)
-                    .message("Booking created successfully")
-                    .data(booking)
-                    .build());
-        } catch (Exception e) {
-            return ResponseEntity.status(400).body(ApiResponse.<BookingDto>builder()
-                    .success(false)
-                    .error(e.getMessage())
-                    .build());
-        }
+    public ResponseEntity<ApiResponse<BookingDto>> createMyBooking(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody BookingRequestDto bookingRequestDto
+    ) {
+        Long currentUserId = currentUserId();
+        return idempotencyService.execute("booking.create", idempotencyKey, currentUserId, bookingRequestDto, BookingDto.class, () -> {
+            try {
+                BookingDto booking = bookingService.createBooking(bookingRequestDto, currentUserId);
+                return ResponseEntity.ok(ApiResponse.<BookingDto>builder()
+                        .success(true)
+                        .message("Booking created successfully")
+                        .data(booking)
+                        .build());
+            } catch (Exception e) {
+                return ResponseEntity.status(400).body(ApiResponse.<BookingDto>builder()
+                        .success(false)
+                        .error(e.getMessage())
+                        .build());
+            }
+        });
     }
 
     @PostMapping("/{userId}")
@@ -107,6 +119,31 @@ public class BookingController {
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPage<BookingDto>>> getBookingPage(
+            @RequestParam(required = false) Set<BookingStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            if (!isAdmin()) {
+                return forbidden("Only admin can view all bookings");
+            }
+            CursorPage<BookingDto> page = bookingService.getBookingPage(status, from, to, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.<CursorPage<BookingDto>>builder()
+                    .success(true)
+                    .data(page)
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.status(400).body(ApiResponse.<CursorPage<BookingDto>>builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<ApiResponse<List<BookingDto>>> getUserBookings(@PathVariable Long userId) {
         try {
@@ -126,6 +163,32 @@ public class BookingController {
         }
     }
 
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<ApiResponse<CursorPage<BookingDto>>> getUserBookingPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Set<BookingStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            if (!currentUserId().equals(userId) && !isAdmin()) {
+                return forbidden("You are not allowed to view this user's bookings");
+            }
+            CursorPage<BookingDto> page = bookingService.getCustomerBookingPage(userId, status, from, to, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.<CursorPage<BookingDto>>builder()
+                    .success(true)
+                    .data(page)
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.status(400).body(ApiResponse.<CursorPage<BookingDto>>builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
     @GetMapping("/salon/{salonId}")
     public ResponseEntity<ApiResponse<List<BookingDto>>> getSalonBookings(@PathVariable Long salonId) {
         try {
@@ -148,6 +211,35 @@ public class BookingController {
         }
     }
 
+    @GetMapping("/salon/{salonId}/page")
+    public ResponseEntity<ApiResponse<CursorPage<BookingDto>>> getSalonBookingPage(
+            @PathVariable Long salonId,
+            @RequestParam(required = false) Set<BookingStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            if (!isAdmin()) {
+                Salon salon = salonRepository.findById(salonId).orElse(null);
+                if (salon == null || !currentUserId().equals(salon.getOwnerId())) {
+                    return forbidden("You are not allowed to view bookings for this salon");
+                }
+            }
+            CursorPage<BookingDto> page = bookingService.getSalonBookingPage(salonId, status, from, to, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.<CursorPage<BookingDto>>builder()
+                    .success(true)
+                    .data(page)
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.status(400).body(ApiResponse.<CursorPage<BookingDto>>builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<BookingDto>> updateBooking(@PathVariable Long id, @RequestBody BookingDto bookingDto) {
         try {
@@ -8,9 +8,13 @@ package com.bookmysalon.controller;
 import com.bookmysalon.dto.PaymentOrderDto;
 import com.bookmysalon.dto.response.ApiResponse;
 import com.bookmysalon.dto.response.PaymentLinkResponse;
+import com.bookmysalon.security.CustomUserPrincipal;
 import com.bookmysalon.service.PaymentService;
+import com.bookmysalon.service.idempotency.IdempotencyService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,22 +25,29 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/{bookingId}/{userId}")
-    public ResponseEntity<ApiResponse<PaymentLinkResponse>> createPaymentLink(@PathVariable Long bookingId, @PathVariable Long userId) {
-        try {
-            PaymentLinkResponse paymentLink = paymentService.createPaymentLink(bookingId, userId);
-            return ResponseEntity.ok(ApiResponse.<PaymentLinkResponse>builder()
-                    .success(true)
-                    .message("Payment link created successfully")
-                    .data(paymentLink)
-                    .build());
-        } catch (Exception e) {
-            return ResponseEntity.status(400).body(ApiResponse.<PaymentLinkResponse>builder()
-                    .success(false)
-                    .error(e.getMessage())
-                    .build());
-        }
+    public ResponseEntity<ApiResponse<PaymentLinkResponse>> createPaymentLink(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @PathVariable Long bookingId,
+            @PathVariable Long userId
+    ) {
+        return idempotencyService.execute("payment.link", idempotencyKey, currentUserId(), List.of(bookingId, userId), PaymentLinkResponse.class, () -> {
+            try {
+                PaymentLinkResponse paymentLink = paymentService.createPaymentLink(bookingId, userId);
+                return ResponseEntity.ok(ApiResponse.<PaymentLinkResponse>builder()
+                        .success(true)
+                        .message("Payment link created successfully")
+                        .data(paymentLink)
+                        .build());
+            } catch (Exception e) {
+                return ResponseEntity.status(400).body(ApiResponse.<PaymentLinkResponse>builder()
+                        .success(false)
+                        .error(e.getMessage())
+                        .build());
+            }
+        });
     }
 
     @GetMapping("/{id}")
@@ -118,4 +129,10 @@ public class PaymentController {
                     .build());
         }
     }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CustomUserPrincipal principal = (CustomUserPrincipal) authentication.getPrincipal();
+        return principal.getId();
+    }
 }
@@ -5,9 +5,11 @@
  */
 package com.bookmysalon.controller;
 
+import com.bookmysalon.dto.RatingSummaryDto;
 import com.bookmysalon.dto.ReviewDto;
 import com.bookmysalon.dto.ReviewRequestDto;
 import com.bookmysalon.dto.response.ApiResponse;
+import com.bookmysalon.dto.response.CursorPage;
 import com.bookmysalon.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -71,6 +73,44 @@ public class ReviewController {
         }
     }
 
+    @GetMapping("/salon/{salonId}/page")
+    public ResponseEntity<ApiResponse<CursorPage<ReviewDto>>> getSalonReviewPage(
+            @PathVariable Long salonId,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            CursorPage<ReviewDto> page = reviewService.getSalonReviewPage(salonId, sort, minRating, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.<CursorPage<ReviewDto>>builder()
+                    .success(true)
+                    .data(page)
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.status(400).body(ApiResponse.<CursorPage<ReviewDto>>builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
+    @GetMapping("/salon/{salonId}/rating")
+    public ResponseEntity<ApiResponse<RatingSummaryDto>> getSalonRating(@PathVariable Long salonId) {
+        try {
+            RatingSummaryDto rating = reviewService.getRatingSummary(salonId);
+            return ResponseEntity.ok(ApiResponse.<RatingSummaryDto>builder()
+                    .success(true)
+                    .data(rating)
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.status(400).body(ApiResponse.<RatingSummaryDto>builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ReviewDto>> updateReview(@PathVariable Long id, @RequestBody ReviewRequestDto reviewRequestDto) {
         try {
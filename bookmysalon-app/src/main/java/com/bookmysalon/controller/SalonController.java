@@ -7,6 +7,7 @@ package com.bookmysalon.controller;
 
 import com.bookmysalon.dto.SalonDto;
 import com.bookmysalon.dto.response.ApiResponse;
+import com.bookmysalon.dto.response.CursorPage;
 import com.bookmysalon.entity.Role;
 import com.bookmysalon.entity.User;
 import com.bookmysalon.entity.UserRole;
@@ -14,8 +15,17 @@ import com.bookmysalon.exception.UnauthorizedException;
 import com.bookmysalon.repository.RoleRepository;
 import com.bookmysalon.repository.UserRepository;
 import com.bookmysalon.security.CustomUserPrincipal;
+import com.bookmysalon.security.UserChangedEvent;
+import com.bookmysalon.exception.SalonNotFoundException;
+import com.bookmysalon.service.SalonCatalogService;
 import com.bookmysalon.service.SalonService;
+import com.bookmysalon.service.catalog.SalonCatalogCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -31,8 +41,10 @@ import java.util.Set;
 public class SalonController {
 
     private final SalonService salonService;
+    private final SalonCatalogService salonCatalogService;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PostMapping("/me")
     public ResponseEntity<ApiResponse<SalonDto>> createSalonForCurrentOwner(@RequestBody SalonDto salonDto) {
@@ -135,6 +147,48 @@ public class SalonController {
         }
     }
 
+    @GetMapping("/nearby/page")
+    public ResponseEntity<ApiResponse<CursorPage<SalonDto>>> getSalonsNearLocationPage(
+            @RequestParam("lat") double latitude,
+            @RequestParam("lng") double longitude,
+            @RequestParam(value = "radius", defaultValue = "10") double radiusKm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        try {
+            CursorPage<SalonDto> page = salonService.getSalonsNearLocationPage(latitude, longitude, radiusKm, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.<CursorPage<SalonDto>>builder()
+                    .success(true)
+                    .data(page)
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.status(400).body(ApiResponse.<CursorPage<SalonDto>>builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<ApiResponse<List<SalonDto>>> getNearestSalons(
+            @RequestParam("lat") double latitude,
+            @RequestParam("lng") double longitude,
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        try {
+            List<SalonDto> salons = salonService.getNearestSalons(latitude, longitude, limit);
+            return ResponseEntity.ok(ApiResponse.<List<SalonDto>>builder()
+                    .success(true)
+                    .data(salons)
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.status(400).body(ApiResponse.<List<SalonDto>>builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<SalonDto>> getSalon(@PathVariable Long id) {
         try {
@@ -151,6 +205,41 @@ public class SalonController {
         }
     }
 
+    /**
+     * Salon, categories and service offerings in one response, written from pre-serialized bytes.
+     * Clients revalidate with {@code If-None-Match} and get a 304 while the catalog is unchanged.
+     */
+    @GetMapping("/{id}/catalog")
+    public ResponseEntity<?> getSalonCatalog(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        try {
+            SalonCatalogCache.Snapshot catalog = salonCatalogService.getCatalog(id);
+            if (ifNoneMatch != null && (ifNoneMatch.contains(catalog.etag()) || "*".equals(ifNoneMatch.trim()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(catalog.etag())
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(catalog.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .body(catalog.json());
+        } catch (SalonNotFoundException e) {
+            return ResponseEntity.status(404).body(ApiResponse.builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.status(400).body(ApiResponse.builder()
+                    .success(false)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<List<SalonDto>>> getAllSalons() {
         try {
@@ -270,5 +359,6 @@ public class SalonController {
         user.setRoles(updatedRoles);
         user.setRole(UserRole.SALON_OWNER);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
     }
 }
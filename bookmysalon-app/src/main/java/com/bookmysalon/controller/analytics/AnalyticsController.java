@@ -1,8 +1,15 @@
 package com.bookmysalon.controller.analytics;
 
+import com.bookmysalon.dto.response.ApiResponse;
 import com.bookmysalon.service.analytics.AnalyticsService;
+import com.bookmysalon.service.analytics.BookingStatsRollup;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,6 +22,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AnalyticsController {
     private final AnalyticsService analyticsService;
+    private final BookingStatsRollup bookingStatsRollup;
 
     @GetMapping("/services/popular")
     public List<?> popularServices(@RequestParam(required = false) Long salonId, @RequestParam(defaultValue = "30") int days, @RequestParam(defaultValue = "10") int limit) {
@@ -35,4 +43,22 @@ public class AnalyticsController {
     public double repeatRate(@RequestParam(defaultValue = "90") int days) {
         return analyticsService.getRepeatRate(days);
     }
+
+    @PostMapping("/rollups/backfill")
+    public ResponseEntity<ApiResponse<Void>> backfillRollups() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean admin = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        if (!admin) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.<Void>builder()
+                    .success(false)
+                    .error("Only admin can rebuild analytics rollups")
+                    .build());
+        }
+        bookingStatsRollup.backfill();
+        return ResponseEntity.ok(ApiResponse.<Void>builder()
+                .success(true)
+                .message("Analytics rollups rebuilt")
+                .build());
+    }
 }
@@ -27,4 +27,5 @@ public class BookingDto {
     private Set<Long> serviceOfferingIds;
     private BookingStatus status;
     private Double totalPrice;
+    private LocalDateTime holdExpiresAt;
 }
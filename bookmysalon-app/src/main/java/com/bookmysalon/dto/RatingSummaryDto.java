@@ -0,0 +1,24 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RatingSummaryDto {
+    private Long salonId;
+    private Long reviewCount;
+    private Double averageRating;
+    private Map<Integer, Long> histogram;
+}
@@ -31,4 +31,6 @@ public class SalonDto {
     private LocalTime openTime;
     private LocalTime closeTime;
     private Double distanceKm;
+    private Double averageRating;
+    private Long reviewCount;
 }
@@ -0,0 +1,26 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.dto.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalonAvailabilityDto {
+    private Long salonId;
+    private String salonName;
+    private LocalDate date;
+    private Integer durationMinutes;
+    private List<TimeSlotDto> slots;
+}
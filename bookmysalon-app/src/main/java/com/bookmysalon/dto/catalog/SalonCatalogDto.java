@@ -0,0 +1,26 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.dto.catalog;
+
+import com.bookmysalon.dto.CategoryDto;
+import com.bookmysalon.dto.SalonDto;
+import com.bookmysalon.dto.ServiceOfferingDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalonCatalogDto {
+    private SalonDto salon;
+    private List<CategoryDto> categories;
+    private List<ServiceOfferingDto> serviceOfferings;
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -19,7 +20,9 @@ import java.util.Set;
         indexes = {
                 @Index(name = "idx_bookings_salon_start", columnList = "salon_id, start_time"),
                 @Index(name = "idx_bookings_customer_start", columnList = "customer_id, start_time"),
-                @Index(name = "idx_bookings_status", columnList = "status")
+                @Index(name = "idx_bookings_status", columnList = "status"),
+                @Index(name = "idx_bookings_start", columnList = "start_time"),
+                @Index(name = "idx_bookings_status_hold", columnList = "status, hold_expires_at")
         }
 )
 @Data
@@ -42,6 +45,7 @@ public class Booking {
     private LocalDateTime endTime;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "booking_service_offerings", joinColumns = @JoinColumn(name = "booking_id"))
     @Column(name = "service_offering_id")
     private Set<Long> serviceOfferingIds;
@@ -53,6 +57,9 @@ public class Booking {
     @Column(nullable = false)
     private Double totalPrice;
 
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "salon_id", insertable = false, updatable = false)
     private Salon salon;
@@ -0,0 +1,56 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hourly/daily rollup of non-cancelled bookings by appointment time.
+ * {@code serviceOfferingId = 0} holds the salon total; only that row carries revenue.
+ */
+@Entity
+@Table(
+        name = "booking_stats",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_booking_stats_bucket",
+                columnNames = {"granularity", "salon_id", "service_offering_id", "period_start"}
+        ),
+        indexes = @Index(name = "idx_booking_stats_granularity_period", columnList = "granularity, period_start")
+)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingStat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "salon_id", nullable = false)
+    private Long salonId;
+
+    @Column(name = "service_offering_id", nullable = false)
+    private Long serviceOfferingId;
+
+    @Column(nullable = false, length = 8)
+    private String granularity;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDateTime periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDateTime periodEnd;
+
+    @Column(name = "booking_count", nullable = false)
+    private Integer bookingCount;
+
+    @Column(nullable = false)
+    private Double revenue;
+}
@@ -0,0 +1,37 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(
+        name = "customer_booking_days",
+        uniqueConstraints = @UniqueConstraint(name = "uk_customer_booking_day", columnNames = {"customer_id", "booking_day"}),
+        indexes = @Index(name = "idx_customer_booking_days_day", columnList = "booking_day")
+)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CustomerBookingDay {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "booking_day", nullable = false)
+    private LocalDate bookingDay;
+
+    @Column(name = "booking_count", nullable = false)
+    private Integer bookingCount;
+}
@@ -0,0 +1,12 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -19,7 +19,9 @@ import java.time.LocalDateTime;
         indexes = {
                 @Index(name = "idx_reviews_salon_id", columnList = "salon_id"),
                 @Index(name = "idx_reviews_user_id", columnList = "user_id"),
-                @Index(name = "idx_reviews_created_at", columnList = "created_at")
+                @Index(name = "idx_reviews_created_at", columnList = "created_at"),
+                @Index(name = "idx_reviews_salon_created", columnList = "salon_id, created_at"),
+                @Index(name = "idx_reviews_salon_rating", columnList = "salon_id, rating")
         }
 )
 @Data
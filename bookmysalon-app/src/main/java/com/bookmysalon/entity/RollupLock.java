@@ -0,0 +1,25 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per rollup table; rebuilds lock it so only one node rebuilds that rollup at a time.
+ */
+@Entity
+@Table(name = "rollup_locks")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RollupLock {
+    @Id
+    @Column(length = 64)
+    private String name;
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalTime;
 import java.util.List;
@@ -34,6 +35,7 @@ public class Salon {
     private String name;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "salon_images", joinColumns = @JoinColumn(name = "salon_id"))
     @Column(name = "image_url")
     private List<String> images;
@@ -0,0 +1,46 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running review totals of one salon, kept in step with the reviews table on every review write.
+ */
+@Entity
+@Table(name = "salon_ratings")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalonRating {
+    @Id
+    @Column(name = "salon_id")
+    private Long salonId;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Double ratingSum;
+
+    @Column(name = "stars_1", nullable = false)
+    private Long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private Long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private Long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private Long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private Long stars5;
+}
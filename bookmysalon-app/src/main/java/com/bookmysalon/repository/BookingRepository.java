@@ -7,10 +7,20 @@ package com.bookmysalon.repository;
 
 import com.bookmysalon.entity.Booking;
 import com.bookmysalon.entity.BookingStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -32,4 +42,67 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             LocalDateTime endTime,
             LocalDateTime startTime
     );
+    List<SlotView> findBySalonIdAndStatusInAndEndTimeAfter(Long salonId, Collection<BookingStatus> statuses, LocalDateTime after);
+
+    @Query("select b from Booking b where b.salonId = :salonId and b.status in :statuses and b.startTime < :until"
+            + " and (b.startTime > :afterStart or (b.startTime = :afterStart and b.id > :afterId))"
+            + " order by b.startTime asc, b.id asc")
+    List<Booking> findSalonPage(@Param("salonId") Long salonId,
+                                @Param("statuses") Collection<BookingStatus> statuses,
+                                @Param("afterStart") LocalDateTime afterStart,
+                                @Param("afterId") Long afterId,
+                                @Param("until") LocalDateTime until,
+                                Pageable pageable);
+
+    @Query("select b from Booking b where b.customerId = :customerId and b.status in :statuses and b.startTime < :until"
+            + " and (b.startTime > :afterStart or (b.startTime = :afterStart and b.id > :afterId))"
+            + " order by b.startTime asc, b.id asc")
+    List<Booking> findCustomerPage(@Param("customerId") Long customerId,
+                                   @Param("statuses") Collection<BookingStatus> statuses,
+                                   @Param("afterStart") LocalDateTime afterStart,
+                                   @Param("afterId") Long afterId,
+                                   @Param("until") LocalDateTime until,
+                                   Pageable pageable);
+
+    @Query("select b from Booking b where b.status in :statuses and b.startTime < :until"
+            + " and (b.startTime > :afterStart or (b.startTime = :afterStart and b.id > :afterId))"
+            + " order by b.startTime asc, b.id asc")
+    List<Booking> findPage(@Param("statuses") Collection<BookingStatus> statuses,
+                           @Param("afterStart") LocalDateTime afterStart,
+                           @Param("afterId") Long afterId,
+                           @Param("until") LocalDateTime until,
+                           Pageable pageable);
+
+    List<HoldView> findByStatusAndHoldExpiresAtNotNull(BookingStatus status);
+
+    /**
+     * Locks the bookings among {@code ids} whose hold is still pending and due, so a concurrent cancel or
+     * confirm either commits first and drops out of the result or waits for the expiry to commit. The rows
+     * come back read-only because {@link #expireHolds} writes the new status.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select b from Booking b where b.id in :ids and b.status = :pending and b.holdExpiresAt <= :now")
+    List<Booking> lockExpiredHolds(@Param("ids") Collection<Long> ids,
+                                   @Param("pending") BookingStatus pending,
+                                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Booking b set b.status = :cancelled where b.id in :ids and b.status = :pending and b.holdExpiresAt <= :now")
+    int expireHolds(@Param("ids") Collection<Long> ids,
+                    @Param("pending") BookingStatus pending,
+                    @Param("cancelled") BookingStatus cancelled,
+                    @Param("now") LocalDateTime now);
+
+    interface HoldView {
+        Long getId();
+        Long getSalonId();
+        LocalDateTime getHoldExpiresAt();
+    }
+
+    interface SlotView {
+        Long getId();
+        LocalDateTime getStartTime();
+        LocalDateTime getEndTime();
+    }
 }
@@ -0,0 +1,55 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.repository;
+
+import com.bookmysalon.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    Optional<IdempotencyRecord> findByScopeAndUserIdAndIdempotencyKey(String scope, Long userId, String idempotencyKey);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.leaseExpiresAt = :until where r.id in :ids and r.statusCode is null")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.statusCode = :statusCode, r.responseBody = :responseBody,"
+            + " r.expiresAt = :expiresAt, r.leaseExpiresAt = null where r.id = :id and r.statusCode is null")
+    int completeClaim(@Param("id") Long id,
+                      @Param("statusCode") Integer statusCode,
+                      @Param("responseBody") String responseBody,
+                      @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.statusCode is null")
+    int deleteClaim(@Param("id") Long id);
+
+    /**
+     * Deletes a claim whose owner stopped renewing its lease; returns 0 if the lease is still live.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.statusCode is null and r.leaseExpiresAt < :now")
+    int deleteLapsedClaim(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
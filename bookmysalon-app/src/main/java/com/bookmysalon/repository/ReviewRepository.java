@@ -5,14 +5,49 @@
  */
 package com.bookmysalon.repository;
 
+import com.bookmysalon.dto.ReviewDto;
 import com.bookmysalon.entity.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findBySalonId(Long salonId);
     List<Review> findByUserId(Long userId);
+
+    @Query("select new com.bookmysalon.dto.ReviewDto(r.id, r.text, r.rating, r.salonId, r.userId, r.createdAt)"
+            + " from Review r where r.salonId = :salonId and r.rating >= :minRating"
+            + " and (r.createdAt < :beforeTime or (r.createdAt = :beforeTime and r.id < :beforeId))"
+            + " order by r.createdAt desc, r.id desc")
+    List<ReviewDto> findNewestPage(@Param("salonId") Long salonId,
+                                   @Param("minRating") double minRating,
+                                   @Param("beforeTime") LocalDateTime beforeTime,
+                                   @Param("beforeId") Long beforeId,
+                                   Pageable pageable);
+
+    @Query("select new com.bookmysalon.dto.ReviewDto(r.id, r.text, r.rating, r.salonId, r.userId, r.createdAt)"
+            + " from Review r where r.salonId = :salonId and r.rating >= :minRating"
+            + " and (r.rating < :beforeRating or (r.rating = :beforeRating and r.id < :beforeId))"
+            + " order by r.rating desc, r.id desc")
+    List<ReviewDto> findHighestPage(@Param("salonId") Long salonId,
+                                    @Param("minRating") double minRating,
+                                    @Param("beforeRating") double beforeRating,
+                                    @Param("beforeId") Long beforeId,
+                                    Pageable pageable);
+
+    @Query("select new com.bookmysalon.dto.ReviewDto(r.id, r.text, r.rating, r.salonId, r.userId, r.createdAt)"
+            + " from Review r where r.salonId = :salonId and r.rating >= :minRating"
+            + " and (r.rating > :afterRating or (r.rating = :afterRating and r.id > :afterId))"
+            + " order by r.rating asc, r.id asc")
+    List<ReviewDto> findLowestPage(@Param("salonId") Long salonId,
+                                   @Param("minRating") double minRating,
+                                   @Param("afterRating") double afterRating,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
 }
@@ -0,0 +1,32 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.repository;
+
+import com.bookmysalon.entity.RollupLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RollupLockRepository extends JpaRepository<RollupLock, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO rollup_locks (name) VALUES (:name) ON DUPLICATE KEY UPDATE name = name", nativeQuery = true)
+    int ensure(@Param("name") String name);
+
+    /**
+     * Blocks until no other transaction holds the lock row for {@code name}; callers {@link #ensure} it first.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from RollupLock l where l.name = :name")
+    Optional<RollupLock> lock(@Param("name") String name);
+}
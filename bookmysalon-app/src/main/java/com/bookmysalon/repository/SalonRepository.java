@@ -7,6 +7,8 @@ package com.bookmysalon.repository;
 
 import com.bookmysalon.entity.Salon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,8 +18,24 @@ import java.util.Optional;
 public interface SalonRepository extends JpaRepository<Salon, Long> {
     List<Salon> findByOwnerId(Long ownerId);
     List<Salon> findByCity(String city);
-    List<Salon> findByLatitudeIsNotNullAndLongitudeIsNotNull();
     Optional<Salon> findByEmailIgnoreCase(String email);
     boolean existsByEmailIgnoreCase(String email);
     boolean existsByEmailIgnoreCaseAndIdNot(String email, Long id);
+
+    @Query("select s.id as id, s.latitude as latitude, s.longitude as longitude from Salon s " +
+            "where s.latitude is not null and s.longitude is not null")
+    List<GeoPointView> findGeoPoints();
+
+    @Query("select s.id as id, s.latitude as latitude, s.longitude as longitude from Salon s " +
+            "where s.latitude between :minLat and :maxLat and s.longitude between :minLng and :maxLng")
+    List<GeoPointView> findGeoPointsInBox(@Param("minLat") double minLat,
+                                          @Param("maxLat") double maxLat,
+                                          @Param("minLng") double minLng,
+                                          @Param("maxLng") double maxLng);
+
+    interface GeoPointView {
+        Long getId();
+        Double getLatitude();
+        Double getLongitude();
+    }
 }
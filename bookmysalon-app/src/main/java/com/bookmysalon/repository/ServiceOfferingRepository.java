@@ -7,6 +7,8 @@ package com.bookmysalon.repository;
 
 import com.bookmysalon.entity.ServiceOffering;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +17,13 @@ import java.util.List;
 public interface ServiceOfferingRepository extends JpaRepository<ServiceOffering, Long> {
     List<ServiceOffering> findBySalonId(Long salonId);
     List<ServiceOffering> findByCategoryId(Long categoryId);
+
+    @Query("select o.id as id, o.price as price, o.duration as duration from ServiceOffering o where o.salonId = :salonId")
+    List<PriceView> findPricesBySalonId(@Param("salonId") Long salonId);
+
+    interface PriceView {
+        Long getId();
+        Double getPrice();
+        Integer getDuration();
+    }
 }
@@ -7,6 +7,9 @@ package com.bookmysalon.repository;
 
 import com.bookmysalon.entity.SignupVerificationSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -16,4 +19,8 @@ public interface SignupVerificationSessionRepository extends JpaRepository<Signu
     void deleteByEmailIgnoreCase(String email);
     void deleteByPhone(String phone);
     void deleteByExpiresAtBefore(LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE SignupVerificationSession s SET s.attemptCount = :attemptCount WHERE s.id = :id AND s.attemptCount < :attemptCount")
+    int raiseAttemptCount(@Param("id") Long id, @Param("attemptCount") int attemptCount);
 }
@@ -8,38 +8,176 @@ package com.bookmysalon.security;
 import com.bookmysalon.entity.Role;
 import com.bookmysalon.entity.User;
 import com.bookmysalon.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * {@link #loadUserByUsername} always reads the database, because the authentication manager checks the
+ * password hash it returns. Request authentication by token goes through {@link #loadPrincipal}, which
+ * keeps principals without their hash in a size-bounded LRU with a TTL that bounds staleness for changes
+ * made on other nodes. Local changes evict through {@link UserChangedEvent}.
+ */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.user-cache.size:10000}")
+    private int cacheSize;
+
+    @Value("${app.security.user-cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    private final Map<Long, Cached> cachedById = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+            return size() > cacheSize;
+        }
+    });
+    private final Map<String, Long> idsByKey = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > 2 * cacheSize;
+        }
+    });
+    private final AtomicLong generation = new AtomicLong();
+
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void registerMetrics() {
+        hits = meterRegistry.counter("security.user_details.cache", "result", "hit");
+        misses = meterRegistry.counter("security.user_details.cache", "result", "miss");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        User user = userRepository.findByUsernameIgnoreCaseOrEmailIgnoreCase(usernameOrEmail, usernameOrEmail)
+        return toPrincipal(findUser(usernameOrEmail), true);
+    }
+
+    /**
+     * Principal for an already authenticated request, served from the cache. It carries no password hash.
+     */
+    public CustomUserPrincipal loadPrincipal(String usernameOrEmail) throws UsernameNotFoundException {
+        String key = normalize(usernameOrEmail);
+        Long userId = key == null ? null : idsByKey.get(key);
+        Cached cached = userId == null ? null : cachedById.get(userId);
+        if (cached != null && cached.expiresAtEpochMs() > System.currentTimeMillis() && cached.matches(key)) {
+            hits.increment();
+            return cached.principal();
+        }
+        misses.increment();
+
+        long loadedAt = generation.get();
+        CustomUserPrincipal principal = toPrincipal(findUser(usernameOrEmail), false);
+        if (key != null) {
+            synchronized (cachedById) {
+                if (generation.get() == loadedAt) {
+                    cachedById.put(principal.getId(), new Cached(principal, System.currentTimeMillis() + cacheTtlSeconds * 1000));
+                    idsByKey.put(key, principal.getId());
+                }
+            }
+        }
+        return principal;
+    }
+
+    /**
+     * Called after a successful login whose stored hash used a different BCrypt cost. The hash is only
+     * replaced if it has not changed since the user was loaded, so a concurrent reset is never overwritten.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        CustomUserPrincipal principal = (CustomUserPrincipal) user;
+        userRepository.findById(principal.getId())
+                .filter(entity -> principal.getPassword().equals(entity.getPassword()))
+                .ifPresent(entity -> {
+                    entity.setPassword(newPassword);
+                    userRepository.save(entity);
+                });
+        onUserChanged(new UserChangedEvent(principal.getId()));
+        return new CustomUserPrincipal(
+                principal.getId(),
+                principal.getUsername(),
+                principal.getEmail(),
+                newPassword,
+                principal.getAuthorities()
+        );
+    }
+
+    /**
+     * Evicts now and again once the surrounding transaction finishes. Each eviction also moves the cache
+     * generation on, and a principal loaded under an older generation is not stored, so a lookup that read
+     * the row before the change committed cannot put it back.
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.userId());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(event.userId());
+                }
+            });
+        }
+    }
+
+    private void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        synchronized (cachedById) {
+            generation.incrementAndGet();
+            cachedById.remove(userId);
+        }
+    }
+
+    private User findUser(String usernameOrEmail) {
+        return userRepository.findByUsernameIgnoreCaseOrEmailIgnoreCase(usernameOrEmail, usernameOrEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
+    }
 
+    private CustomUserPrincipal toPrincipal(User user, boolean withPassword) {
         return new CustomUserPrincipal(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
-                user.getPassword(),
+                withPassword ? user.getPassword() : null,
                 resolveAuthorities(user)
         );
     }
 
+    private static String normalize(String usernameOrEmail) {
+        return usernameOrEmail == null ? null : usernameOrEmail.trim().toLowerCase(Locale.ROOT);
+    }
+
     private Collection<SimpleGrantedAuthority> resolveAuthorities(User user) {
         Set<String> roleNames = new LinkedHashSet<>();
 
@@ -63,4 +201,11 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
                 .collect(Collectors.toSet());
     }
+
+    private record Cached(CustomUserPrincipal principal, long expiresAtEpochMs) {
+
+        boolean matches(String key) {
+            return key.equals(normalize(principal.getUsername())) || key.equals(normalize(principal.getEmail()));
+        }
+    }
 }
@@ -0,0 +1,85 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Turns a bearer token into the authenticated principal with one signature check.
+ * In "lookup" mode the user comes from {@link CustomUserDetailsService#loadPrincipal}; in "stateless" mode the principal is built from the
+ * userId, email and roles claims that {@link JwtService#generateAccessToken} signs into every access token.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtPrincipalResolver {
+
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+
+    @Value("${security.jwt.authentication-mode:lookup}")
+    private String authenticationMode;
+
+    /**
+     * Stateless mode never looks at the user row, so a deleted user is only locked out through the
+     * revocation list; that list has to reach every node.
+     */
+    @PostConstruct
+    void requireSharedRevocationsWhenStateless() {
+        if ("stateless".equalsIgnoreCase(authenticationMode) && !revocationList.isShared()) {
+            throw new IllegalStateException("security.jwt.authentication-mode=stateless requires "
+                    + "security.jwt.revocation.transport=rabbit so token revocations reach every node");
+        }
+    }
+
+    public CustomUserPrincipal resolve(String token) {
+        Claims claims = jwtService.extractAllClaims(token);
+        String username = claims.getSubject();
+        if (username == null) {
+            throw new JwtException("Token has no subject");
+        }
+
+        Long userId = userIdClaim(claims);
+        if (revocationList.isRevoked(userId, claims.getIssuedAt())) {
+            throw new JwtException("Token has been revoked");
+        }
+
+        if ("stateless".equalsIgnoreCase(authenticationMode) && userId != null) {
+            return new CustomUserPrincipal(userId, username, claims.get("email", String.class), null, authorities(claims));
+        }
+
+        CustomUserPrincipal user = userDetailsService.loadPrincipal(username);
+        if (!username.equals(user.getUsername()) || revocationList.isRevoked(user.getId(), claims.getIssuedAt())) {
+            throw new JwtException("Token does not match user");
+        }
+        return user;
+    }
+
+    private static Long userIdClaim(Claims claims) {
+        Object userId = claims.get("userId");
+        return userId instanceof Number number ? number.longValue() : null;
+    }
+
+    private static Collection<SimpleGrantedAuthority> authorities(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream()
+                .map(String::valueOf)
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+}
@@ -7,6 +7,7 @@ package com.bookmysalon.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -30,6 +31,8 @@ public class JwtService {
     @Value("${security.jwt.access-token-expiration-ms}")
     private long accessTokenExpirationMs;
 
+    private volatile SigningContext signingContext;
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -65,8 +68,8 @@ public class JwtService {
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+            Claims claims = extractAllClaims(token);
+            return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
         } catch (JwtException | IllegalArgumentException ex) {
             return false;
         }
@@ -76,12 +79,12 @@ public class JwtService {
         return extractExpiration(token).before(new Date());
     }
 
+    /**
+     * Verifies the signature and expiry once and returns every claim; callers that need more than one
+     * claim should use this rather than the single-claim helpers, which each verify again.
+     */
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return signingContext().parser().parseSignedClaims(token).getPayload();
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expirationMs) {
@@ -92,12 +95,24 @@ public class JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(now))
                 .expiration(new Date(now + expirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingContext().key())
                 .compact();
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Decodes the secret and builds the parser once, on first use, so a misconfigured secret still only
+     * fails token operations rather than startup.
+     */
+    private SigningContext signingContext() {
+        SigningContext context = signingContext;
+        if (context == null) {
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+            context = new SigningContext(key, Jwts.parser().verifyWith(key).build());
+            signingContext = context;
+        }
+        return context;
+    }
+
+    private record SigningContext(SecretKey key, JwtParser parser) {
     }
 }
@@ -0,0 +1,72 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Fans revocations out to every node over a non-durable exchange, each node consuming through its own
+ * exclusive auto-delete queue. A lost message is repaired by the periodic resync in {@link TokenRevocationList},
+ * so publish failures are logged rather than failing the change that caused them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "security.jwt.revocation.transport", havingValue = "rabbit")
+public class RabbitTokenRevocationTransport implements TokenRevocationTransport {
+
+    public static final String REVOCATION_EXCHANGE = "token-revocation-exchange";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+
+    private volatile Consumer<Revocations> listener = revocations -> {
+    };
+
+    @Override
+    public void publish(Revocations revocations) {
+        try {
+            MessageProperties properties = new MessageProperties();
+            properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            rabbitTemplate.send(REVOCATION_EXCHANGE, "", new Message(objectMapper.writeValueAsBytes(revocations), properties));
+        } catch (AmqpException | IOException e) {
+            log.error("Could not publish {} token revocations: {}", revocations.revokedBeforeEpochSecond().size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onRevocations(Consumer<Revocations> listener) {
+        this.listener = listener;
+    }
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(name = REVOCATION_EXCHANGE, type = ExchangeTypes.FANOUT, durable = "false")
+    ))
+    public void receive(Message message) {
+        try {
+            listener.accept(objectMapper.readValue(message.getBody(), Revocations.class));
+        } catch (IOException e) {
+            log.warn("Dropping unreadable token revocations: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens of a user issued in a second before the revocation second are rejected, which covers deleted
+ * users and password resets without a per-request user lookup. JWT iat has whole-second precision, so a
+ * token issued in the revocation second itself is accepted; otherwise a login right after a password reset
+ * would be revoked on arrival. Entries are kept only as long as a token
+ * issued before them could still be unexpired. With a {@link TokenRevocationTransport} every revocation is
+ * broadcast to the other nodes, and the whole live list is re-sent periodically so a lost message or a
+ * restarted node catches up.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final ConcurrentHashMap<Long, Long> revokedBeforeEpochSecond = new ConcurrentHashMap<>();
+    private final TokenRevocationTransport transport;
+
+    @Value("${security.jwt.access-token-expiration-ms}")
+    private long accessTokenExpirationMs;
+
+    public TokenRevocationList(ObjectProvider<TokenRevocationTransport> transportProvider) {
+        this.transport = transportProvider.getIfAvailable();
+        if (transport != null) {
+            transport.onRevocations(revocations -> revocations.revokedBeforeEpochSecond().forEach(this::apply));
+        }
+    }
+
+    public boolean isShared() {
+        return transport != null;
+    }
+
+    public void revokeUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long revokedBefore = System.currentTimeMillis() / 1000;
+        apply(userId, revokedBefore);
+        if (transport != null) {
+            transport.publish(new TokenRevocationTransport.Revocations(Map.of(userId, revokedBefore)));
+        }
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long revokedBefore = userId == null ? null : revokedBeforeEpochSecond.get(userId);
+        return revokedBefore != null && (issuedAt == null || issuedAt.getTime() / 1000 < revokedBefore);
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long oldestLiveIssue = (System.currentTimeMillis() - accessTokenExpirationMs) / 1000;
+        revokedBeforeEpochSecond.values().removeIf(revokedBefore -> revokedBefore <= oldestLiveIssue);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.resync-interval-ms:30000}")
+    public void resync() {
+        if (transport != null && !revokedBeforeEpochSecond.isEmpty()) {
+            transport.publish(new TokenRevocationTransport.Revocations(Map.copyOf(revokedBeforeEpochSecond)));
+        }
+    }
+
+    private void apply(Long userId, Long revokedBefore) {
+        revokedBeforeEpochSecond.merge(userId, revokedBefore, Math::max);
+    }
+}
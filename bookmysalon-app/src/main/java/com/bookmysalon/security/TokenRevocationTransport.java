@@ -0,0 +1,25 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.security;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Carries token revocations between application nodes. Without a transport bean revocations stay node-local.
+ */
+public interface TokenRevocationTransport {
+
+    void publish(Revocations revocations);
+
+    void onRevocations(Consumer<Revocations> listener);
+
+    /**
+     * User id to the epoch second before which that user's access tokens were issued and are revoked.
+     */
+    record Revocations(Map<Long, Long> revokedBeforeEpochSecond) {
+    }
+}
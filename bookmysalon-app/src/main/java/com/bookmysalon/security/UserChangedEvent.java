@@ -0,0 +1,12 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.security;
+
+/**
+ * Published whenever a user's credentials, roles or identity change so cached user details are dropped.
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -13,6 +13,7 @@ import com.bookmysalon.repository.RoleRepository;
 import com.bookmysalon.repository.UserRepository;
 import com.bookmysalon.security.CustomUserPrincipal;
 import com.bookmysalon.security.JwtService;
+import com.bookmysalon.security.UserChangedEvent;
 import com.bookmysalon.dto.response.AuthResponse;
 import com.bookmysalon.service.auth.RefreshTokenService;
 import com.bookmysalon.service.auth.OAuthLoginCodeService;
@@ -22,6 +23,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -58,6 +60,7 @@ public class OAuth2AuthenticationSuccessHandler implements AuthenticationSuccess
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
     private final OAuthLoginCodeService oAuthLoginCodeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request,
@@ -129,6 +132,7 @@ public class OAuth2AuthenticationSuccessHandler implements AuthenticationSuccess
                     .orElseGet(() -> roleRepository.save(new Role(null, UserRole.CUSTOMER)));
             user.getRoles().add(customerRole);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         }
     }
 
@@ -0,0 +1,17 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service;
+
+import com.bookmysalon.dto.availability.SalonAvailabilityDto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+public interface AvailabilityService {
+    List<SalonAvailabilityDto> getSalonAvailability(Long salonId, LocalDate fromDate, int days, Set<Long> serviceOfferingIds, Integer durationMinutes, int stepMinutes);
+    List<SalonAvailabilityDto> getCityAvailability(String city, LocalDate fromDate, int days, int durationMinutes, int stepMinutes);
+}
@@ -7,7 +7,12 @@ package com.bookmysalon.service;
 
 import com.bookmysalon.dto.BookingDto;
 import com.bookmysalon.dto.BookingRequestDto;
+import com.bookmysalon.dto.response.CursorPage;
+import com.bookmysalon.entity.BookingStatus;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 public interface BookingService {
     BookingDto createBooking(BookingRequestDto bookingRequestDto, Long customerId);
@@ -15,6 +20,9 @@ public interface BookingService {
     List<BookingDto> getAllBookings();
     List<BookingDto> getBookingsBySalonId(Long salonId);
     List<BookingDto> getBookingsByCustomerId(Long customerId);
+    CursorPage<BookingDto> getBookingPage(Set<BookingStatus> statuses, LocalDateTime from, LocalDateTime to, String cursor, Integer limit);
+    CursorPage<BookingDto> getSalonBookingPage(Long salonId, Set<BookingStatus> statuses, LocalDateTime from, LocalDateTime to, String cursor, Integer limit);
+    CursorPage<BookingDto> getCustomerBookingPage(Long customerId, Set<BookingStatus> statuses, LocalDateTime from, LocalDateTime to, String cursor, Integer limit);
     BookingDto updateBooking(Long id, BookingDto bookingDto);
     void cancelBooking(Long id);
     Double calculateTotalPrice(Long salonId, java.util.Set<Long> serviceOfferingIds);
@@ -5,8 +5,10 @@
  */
 package com.bookmysalon.service;
 
+import com.bookmysalon.dto.RatingSummaryDto;
 import com.bookmysalon.dto.ReviewDto;
 import com.bookmysalon.dto.ReviewRequestDto;
+import com.bookmysalon.dto.response.CursorPage;
 import java.util.List;
 
 public interface ReviewService {
@@ -14,8 +16,10 @@ public interface ReviewService {
     ReviewDto getReviewById(Long id);
     List<ReviewDto> getAllReviews();
     List<ReviewDto> getReviewsBySalonId(Long salonId);
+    CursorPage<ReviewDto> getSalonReviewPage(Long salonId, String sort, Double minRating, String cursor, Integer limit);
     List<ReviewDto> getReviewsByUserId(Long userId);
     ReviewDto updateReview(Long id, ReviewRequestDto reviewRequestDto);
     void deleteReview(Long id);
     Double getAverageRating(Long salonId);
+    RatingSummaryDto getRatingSummary(Long salonId);
 }
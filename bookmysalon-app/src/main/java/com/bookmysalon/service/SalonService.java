@@ -6,6 +6,7 @@
 package com.bookmysalon.service;
 
 import com.bookmysalon.dto.SalonDto;
+import com.bookmysalon.dto.response.CursorPage;
 import java.util.List;
 
 public interface SalonService {
@@ -15,6 +16,8 @@ public interface SalonService {
     List<SalonDto> getSalonsByOwnerId(Long ownerId);
     List<SalonDto> getSalonsByCity(String city);
     List<SalonDto> getSalonsNearLocation(double latitude, double longitude, double radiusKm);
+    CursorPage<SalonDto> getSalonsNearLocationPage(double latitude, double longitude, double radiusKm, String cursor, Integer limit);
+    List<SalonDto> getNearestSalons(double latitude, double longitude, int limit);
     SalonDto updateSalon(Long id, SalonDto salonDto);
     void deleteSalon(Long id);
 }
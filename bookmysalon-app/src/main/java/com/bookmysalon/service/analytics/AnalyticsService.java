@@ -5,25 +5,39 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
+/**
+ * Dashboard queries served from the booking_stats / customer_booking_days rollups
+ * maintained by {@link BookingStatsRollup}; buckets follow the appointment start time.
+ */
 @Service
 @RequiredArgsConstructor
 public class AnalyticsService {
     private final JdbcTemplate jdbc;
 
     public List<PopularServiceDto> getPopularServices(Long salonId, int days, int limit) {
-        String sql = "SELECT so.id AS service_id, so.name AS service_name, COUNT(b.id) AS cnt " +
-                "FROM service_offering so " +
-                "JOIN bookings b ON b.service_offering_id = so.id " +
-                "WHERE b.created_at >= DATE_SUB(NOW(), INTERVAL ? DAY) " +
-                (salonId != null ? "AND so.salon_id = ? " : "") +
-                "GROUP BY so.id, so.name ORDER BY cnt DESC LIMIT ?";
+        String sql = "SELECT so.id AS service_id, so.name AS service_name, SUM(s.booking_count) AS cnt " +
+                "FROM booking_stats s " +
+                "JOIN service_offerings so ON so.id = s.service_offering_id " +
+                "WHERE s.granularity = ? AND s.service_offering_id <> ? AND s.period_start >= ? " +
+                (salonId != null ? "AND s.salon_id = ? " : "") +
+                "GROUP BY so.id, so.name HAVING SUM(s.booking_count) > 0 ORDER BY cnt DESC LIMIT ?";
 
-        Object[] params = salonId != null ? new Object[]{days, salonId, limit} : new Object[]{days, limit};
+        Timestamp from = Timestamp.valueOf(windowStart(days));
+        Object[] params = salonId != null
+                ? new Object[]{BookingStatsRollup.DAY, BookingStatsRollup.SALON_TOTAL, from, salonId, limit}
+                : new Object[]{BookingStatsRollup.DAY, BookingStatsRollup.SALON_TOTAL, from, limit};
 
-        List<Map<String, Object>> rows = salonId != null ? jdbc.queryForList(sql, params) : jdbc.queryForList(sql, params);
+        List<Map<String, Object>> rows = jdbc.queryForList(sql, params);
 
         return rows.stream().map(r -> PopularServiceDto.builder()
                 .serviceId(((Number) r.get("service_id")).longValue())
@@ -33,23 +47,57 @@ public class AnalyticsService {
     }
 
     public List<Map<String, Object>> getRevenuePerDay(String start, String end) {
-        String sql = "SELECT DATE(created_at) as day, SUM(total_price) as revenue " +
-                "FROM bookings WHERE created_at BETWEEN ? AND ? GROUP BY day ORDER BY day";
-        return jdbc.queryForList(sql, start, end);
+        String sql = "SELECT period_start, SUM(revenue) AS revenue " +
+                "FROM booking_stats WHERE granularity = ? AND service_offering_id = ? " +
+                "AND period_start >= ? AND period_start < ? GROUP BY period_start ORDER BY period_start";
+        return jdbc.query(sql, (rs, rowNum) -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("day", rs.getTimestamp("period_start").toLocalDateTime().toLocalDate());
+                    row.put("revenue", rs.getDouble("revenue"));
+                    return row;
+                },
+                BookingStatsRollup.DAY,
+                BookingStatsRollup.SALON_TOTAL,
+                Timestamp.valueOf(LocalDate.parse(start).atStartOfDay()),
+                Timestamp.valueOf(LocalDate.parse(end).plusDays(1).atStartOfDay()));
     }
 
     public List<Map<String, Object>> getPeakHeatmap(Long salonId, int days) {
-        String sql = "SELECT DAYOFWEEK(created_at) AS dow, HOUR(created_at) AS hour, COUNT(*) AS cnt " +
-                "FROM bookings WHERE created_at >= DATE_SUB(NOW(), INTERVAL ? DAY) " +
-                "AND salon_id = ? GROUP BY dow, hour";
-        return jdbc.queryForList(sql, days, salonId);
+        String sql = "SELECT period_start, booking_count FROM booking_stats " +
+                "WHERE granularity = ? AND service_offering_id = ? AND salon_id = ? AND period_start >= ?";
+        Map<Integer, Integer> counts = new TreeMap<>();
+        jdbc.query(sql, rs -> {
+            LocalDateTime hour = rs.getTimestamp("period_start").toLocalDateTime();
+            // Same numbering as MySQL DAYOFWEEK: 1 = Sunday .. 7 = Saturday
+            int dow = hour.getDayOfWeek() == DayOfWeek.SUNDAY ? 1 : hour.getDayOfWeek().getValue() + 1;
+            counts.merge(dow * 24 + hour.getHour(), rs.getInt("booking_count"), Integer::sum);
+        }, BookingStatsRollup.HOUR, BookingStatsRollup.SALON_TOTAL, salonId, Timestamp.valueOf(windowStart(days)));
+
+        List<Map<String, Object>> heatmap = new ArrayList<>(counts.size());
+        counts.forEach((cell, count) -> {
+            if (count <= 0) {
+                return;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("dow", cell / 24);
+            row.put("hour", cell % 24);
+            row.put("cnt", count);
+            heatmap.add(row);
+        });
+        return heatmap;
     }
 
     public double getRepeatRate(int days) {
-        String sql = "SELECT 100.0 * SUM(CASE WHEN b.cnt > 1 THEN 1 ELSE 0 END)/COUNT(*) AS repeat_rate FROM (" +
-                " SELECT user_id, COUNT(*) AS cnt FROM bookings WHERE created_at >= DATE_SUB(NOW(), INTERVAL ? DAY) GROUP BY user_id" +
-                ") b";
-        Map<String, Object> row = jdbc.queryForMap(sql, days);
-        return ((Number) row.get("repeat_rate")).doubleValue();
+        String sql = "SELECT 100.0 * SUM(CASE WHEN c.cnt > 1 THEN 1 ELSE 0 END) / COUNT(*) AS repeat_rate FROM (" +
+                " SELECT customer_id, SUM(booking_count) AS cnt FROM customer_booking_days WHERE booking_day >= ?" +
+                " GROUP BY customer_id HAVING SUM(booking_count) > 0" +
+                ") c";
+        Map<String, Object> row = jdbc.queryForMap(sql, windowStart(days).toLocalDate());
+        Object rate = row.get("repeat_rate");
+        return rate == null ? 0 : ((Number) rate).doubleValue();
+    }
+
+    private static LocalDateTime windowStart(int days) {
+        return LocalDate.now().minusDays(Math.max(0, days)).atStartOfDay();
     }
 }
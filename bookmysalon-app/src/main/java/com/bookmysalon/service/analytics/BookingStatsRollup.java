@@ -0,0 +1,247 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.analytics;
+
+import com.bookmysalon.entity.Booking;
+import com.bookmysalon.entity.BookingStatus;
+import com.bookmysalon.repository.RollupLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * Maintains booking_stats and customer_booking_days incrementally.
+ * Every booking write passes its before/after state; the difference is applied as upserts in the same
+ * transaction, so the rollups always match the bookings table. Buckets follow the appointment start time.
+ */
+@Slf4j
+@Component
+public class BookingStatsRollup {
+
+    public static final String HOUR = "HOUR";
+    public static final String DAY = "DAY";
+    public static final long SALON_TOTAL = 0L;
+
+    private static final String UPSERT_STATS = "INSERT INTO booking_stats"
+            + " (salon_id, service_offering_id, granularity, period_start, period_end, booking_count, revenue)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE booking_count = booking_count + ?, revenue = revenue + ?";
+    private static final String UPSERT_CUSTOMER = "INSERT INTO customer_booking_days (customer_id, booking_day, booking_count)"
+            + " VALUES (?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE booking_count = booking_count + ?";
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final String LOCK_NAME = "booking_stats";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RollupLockRepository rollupLockRepository;
+    private final TransactionTemplate rebuildTransaction;
+
+    public BookingStatsRollup(JdbcTemplate jdbcTemplate,
+                              RollupLockRepository rollupLockRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupLockRepository = rollupLockRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Applies the change from {@code before} to {@code after}; either side may be {@code null}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Facts before, Facts after) {
+        Deltas deltas = new Deltas();
+        deltas.add(before, -1);
+        deltas.add(after, 1);
+        write(deltas);
+    }
+
+    /**
+     * Rebuilds both rollup tables from the bookings table. Rebuilds are serialized across nodes by the
+     * rollup_locks row; bookings and the current rollups are read from one snapshot and only the difference
+     * is written as additive upserts, so {@link #record} deltas committed meanwhile are kept.
+     */
+    public void backfill() {
+        rebuildTransaction.executeWithoutResult(status -> rebuild(false));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Integer rollups = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking_stats", Integer.class);
+        Integer bookings = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Integer.class);
+        if (rollups != null && rollups == 0 && bookings != null && bookings > 0) {
+            rebuildTransaction.executeWithoutResult(status -> rebuild(true));
+        }
+    }
+
+    private void rebuild(boolean onlyIfEmpty) {
+        rollupLockRepository.ensure(LOCK_NAME);
+        rollupLockRepository.lock(LOCK_NAME);
+        if (onlyIfEmpty && jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking_stats", Integer.class) > 0) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        Deltas deltas = new Deltas();
+        Calendar utc = Calendar.getInstance(UTC);
+
+        jdbcTemplate.query(
+                "SELECT salon_id, customer_id, start_time, total_price FROM bookings WHERE status <> ?",
+                rs -> {
+                    LocalDateTime start = rs.getTimestamp("start_time", utc).toLocalDateTime();
+                    deltas.addBooking(rs.getLong("salon_id"), rs.getLong("customer_id"), start, rs.getDouble("total_price"), 1);
+                },
+                BookingStatus.CANCELLED.name()
+        );
+        jdbcTemplate.query(
+                "SELECT b.salon_id, b.start_time, o.service_offering_id FROM booking_service_offerings o"
+                        + " JOIN bookings b ON b.id = o.booking_id WHERE b.status <> ?",
+                rs -> {
+                    LocalDateTime start = rs.getTimestamp("start_time", utc).toLocalDateTime();
+                    deltas.addOffering(rs.getLong("salon_id"), rs.getLong("service_offering_id"), start, 1);
+                },
+                BookingStatus.CANCELLED.name()
+        );
+        jdbcTemplate.query(
+                "SELECT granularity, salon_id, service_offering_id, period_start, booking_count, revenue FROM booking_stats",
+                rs -> {
+                    deltas.bump(rs.getString("granularity"), rs.getLong("salon_id"), rs.getLong("service_offering_id"),
+                            rs.getTimestamp("period_start").toLocalDateTime(), -rs.getInt("booking_count"), -rs.getDouble("revenue"));
+                }
+        );
+        jdbcTemplate.query(
+                "SELECT customer_id, booking_day, booking_count FROM customer_booking_days",
+                rs -> {
+                    deltas.customers.computeIfAbsent(
+                            new CustomerKey(rs.getLong("customer_id"), rs.getObject("booking_day", LocalDate.class)),
+                            key -> new int[1])[0] -= rs.getInt("booking_count");
+                }
+        );
+
+        write(deltas);
+        log.info("Backfilled booking rollups with {} booking_stats and {} customer_booking_days corrections in {} ms",
+                deltas.stats.size(), deltas.customers.size(), System.currentTimeMillis() - started);
+    }
+
+    private void write(Deltas deltas) {
+        List<Object[]> statRows = new ArrayList<>();
+        deltas.stats.forEach((key, value) -> {
+            if (value.count == 0 && value.revenue == 0) {
+                return;
+            }
+            LocalDateTime end = DAY.equals(key.granularity()) ? key.periodStart().plusDays(1) : key.periodStart().plusHours(1);
+            statRows.add(new Object[]{
+                    key.salonId(), key.offeringId(), key.granularity(),
+                    Timestamp.valueOf(key.periodStart()), Timestamp.valueOf(end),
+                    value.count, value.revenue, value.count, value.revenue
+            });
+        });
+        List<Object[]> customerRows = new ArrayList<>();
+        deltas.customers.forEach((key, count) -> {
+            if (count[0] != 0) {
+                customerRows.add(new Object[]{key.customerId(), key.day(), count[0], count[0]});
+            }
+        });
+
+        if (!statRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_STATS, statRows);
+        }
+        if (!customerRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_CUSTOMER, customerRows);
+        }
+    }
+
+    public record Facts(Long salonId,
+                        Long customerId,
+                        LocalDateTime startTime,
+                        BookingStatus status,
+                        Double totalPrice,
+                        Set<Long> serviceOfferingIds) {
+
+        public static Facts of(Booking booking) {
+            return new Facts(
+                    booking.getSalonId(),
+                    booking.getCustomerId(),
+                    booking.getStartTime(),
+                    booking.getStatus(),
+                    booking.getTotalPrice(),
+                    booking.getServiceOfferingIds() == null ? Set.of() : Set.copyOf(booking.getServiceOfferingIds())
+            );
+        }
+
+        public Facts withStatus(BookingStatus newStatus) {
+            return new Facts(salonId, customerId, startTime, newStatus, totalPrice, serviceOfferingIds);
+        }
+
+        boolean counted() {
+            return status != BookingStatus.CANCELLED && startTime != null;
+        }
+    }
+
+    private record StatKey(String granularity, long salonId, long offeringId, LocalDateTime periodStart) {
+    }
+
+    private record CustomerKey(long customerId, LocalDate day) {
+    }
+
+    private static final class StatValue {
+        private int count;
+        private double revenue;
+    }
+
+    private static final class Deltas {
+        private final Map<StatKey, StatValue> stats = new HashMap<>();
+        private final Map<CustomerKey, int[]> customers = new HashMap<>();
+
+        void add(Facts facts, int sign) {
+            if (facts == null || !facts.counted()) {
+                return;
+            }
+            double price = facts.totalPrice() == null ? 0 : facts.totalPrice();
+            addBooking(facts.salonId(), facts.customerId(), facts.startTime(), price, sign);
+            for (Long offeringId : facts.serviceOfferingIds()) {
+                addOffering(facts.salonId(), offeringId, facts.startTime(), sign);
+            }
+        }
+
+        void addBooking(long salonId, long customerId, LocalDateTime start, double price, int sign) {
+            bump(HOUR, salonId, SALON_TOTAL, start.truncatedTo(ChronoUnit.HOURS), sign, sign * price);
+            bump(DAY, salonId, SALON_TOTAL, start.toLocalDate().atStartOfDay(), sign, sign * price);
+            customers.computeIfAbsent(new CustomerKey(customerId, start.toLocalDate()), key -> new int[1])[0] += sign;
+        }
+
+        void addOffering(long salonId, long offeringId, LocalDateTime start, int sign) {
+            bump(HOUR, salonId, offeringId, start.truncatedTo(ChronoUnit.HOURS), sign, 0);
+            bump(DAY, salonId, offeringId, start.toLocalDate().atStartOfDay(), sign, 0);
+        }
+
+        private void bump(String granularity, long salonId, long offeringId, LocalDateTime periodStart, int count, double revenue) {
+            StatValue value = stats.computeIfAbsent(new StatKey(granularity, salonId, offeringId, periodStart), key -> new StatValue());
+            value.count += count;
+            value.revenue += revenue;
+        }
+    }
+}
@@ -12,12 +12,15 @@ import com.bookmysalon.exception.AuthException;
 import com.bookmysalon.repository.*;
 import com.bookmysalon.security.CustomUserPrincipal;
 import com.bookmysalon.security.JwtService;
+import com.bookmysalon.security.TokenRevocationList;
+import com.bookmysalon.security.UserChangedEvent;
 import com.bookmysalon.service.auth.verification.VerificationDeliveryService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -69,7 +72,10 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
+    private final ApplicationEventPublisher eventPublisher;
     private final VerificationDeliveryService verificationDeliveryService;
+    private final SignupOtpStore signupOtpStore;
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient = HttpClient.newHttpClient();
 
@@ -157,6 +163,9 @@ public class AuthServiceImpl implements AuthService {
             signupVerificationSessionRepository.delete(session);
             throw new AuthException("Signup session expired. Please restart signup.");
         }
+        if (signupOtpStore.failedAttempts(session) >= MAX_OTP_ATTEMPTS) {
+            throw new AuthException("Too many invalid attempts. Please signup again.");
+        }
 
         return issueAndSendOtp(session);
     }
@@ -178,14 +187,15 @@ public class AuthServiceImpl implements AuthService {
             throw new AuthException("OTP expired. Please request a new OTP.");
         }
 
-        boolean emailOtpValid = passwordEncoder.matches(request.getEmailOtp().trim(), session.getEmailOtpHash());
+        if (signupOtpStore.failedAttempts(session) >= MAX_OTP_ATTEMPTS) {
+            throw new AuthException("Too many invalid attempts. Please signup again.");
+        }
+
+        boolean emailOtpValid = signupOtpStore.matches(session.getSessionToken(), request.getEmailOtp().trim(), session.getEmailOtpHash());
         if (!emailOtpValid) {
-            session.setAttemptCount(session.getAttemptCount() + 1);
-            if (session.getAttemptCount() >= MAX_OTP_ATTEMPTS) {
-                signupVerificationSessionRepository.delete(session);
+            if (signupOtpStore.recordFailedAttempt(session) >= MAX_OTP_ATTEMPTS) {
                 throw new AuthException("Too many invalid attempts. Please signup again.");
             }
-            signupVerificationSessionRepository.save(session);
             throw new AuthException("Invalid email OTP.");
         }
 
@@ -209,6 +219,7 @@ public class AuthServiceImpl implements AuthService {
 
         User savedUser = userRepository.save(user);
         signupVerificationSessionRepository.delete(session);
+        signupOtpStore.reset(session.getSessionToken());
 
         CustomUserPrincipal principal = buildPrincipal(savedUser);
         String accessToken = jwtService.generateAccessToken(principal);
@@ -304,14 +315,17 @@ public class AuthServiceImpl implements AuthService {
         token.setUsed(true);
         passwordResetTokenRepository.save(token);
         refreshTokenService.revokeAllUserTokens(user);
+        tokenRevocationList.revokeUser(user.getId());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
     }
 
     private SignupInitiateResponse issueAndSendOtp(SignupVerificationSession session) {
         String emailOtp = generateSixDigitOtp();
 
-        session.setEmailOtpHash(passwordEncoder.encode(emailOtp));
-        session.setPhoneOtpHash(passwordEncoder.encode(generateToken()));
+        session.setEmailOtpHash(signupOtpStore.hash(session.getSessionToken(), emailOtp));
+        session.setPhoneOtpHash(signupOtpStore.hash(session.getSessionToken(), generateToken()));
         session.setAttemptCount(0);
+        signupOtpStore.reset(session.getSessionToken());
         session.setExpiresAt(LocalDateTime.now().plusMinutes(SIGNUP_OTP_EXPIRY_MINUTES));
 
         SignupVerificationSession saved = signupVerificationSessionRepository.save(session);
@@ -525,7 +539,7 @@ public class AuthServiceImpl implements AuthService {
         if (phoneOtp == null || phoneOtp.isBlank()) {
             return false;
         }
-        return passwordEncoder.matches(phoneOtp.trim(), session.getPhoneOtpHash());
+        return signupOtpStore.matches(session.getSessionToken(), phoneOtp.trim(), session.getPhoneOtpHash());
     }
 
     private boolean verifyPhoneWithMsg91(String accessToken, String sessionPhone) {
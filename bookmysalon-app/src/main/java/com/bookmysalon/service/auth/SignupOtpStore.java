@@ -0,0 +1,114 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.auth;
+
+import com.bookmysalon.entity.SignupVerificationSession;
+import com.bookmysalon.repository.SignupVerificationSessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hashes signup OTPs with HMAC-SHA256 under a server key, bound to the signup session token, so checking
+ * a six digit code costs microseconds instead of a BCrypt round. Failed attempts are counted in memory per
+ * session until the session expires and written through to the session row in their own transaction, so
+ * neither a rolled back verification nor a restart resets them. Hashes written by BCrypt before the switch are still accepted until their sessions expire.
+ */
+@Service
+public class SignupOtpStore {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String HASH_PREFIX = "hmac-sha256:";
+
+    private final PasswordEncoder passwordEncoder;
+    private final SignupVerificationSessionRepository sessionRepository;
+    private final TransactionTemplate writeThrough;
+    private final SecretKeySpec key;
+    private final Map<String, Attempts> attempts = new ConcurrentHashMap<>();
+
+    public SignupOtpStore(PasswordEncoder passwordEncoder,
+                          SignupVerificationSessionRepository sessionRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.otp.hmac-secret:${security.jwt.secret}}") String secret) {
+        this.passwordEncoder = passwordEncoder;
+        this.sessionRepository = sessionRepository;
+        this.writeThrough = new TransactionTemplate(transactionManager);
+        this.writeThrough.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.key = new SecretKeySpec(hmac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM),
+                "signup-otp"), HMAC_ALGORITHM);
+    }
+
+    public String hash(String sessionToken, String otp) {
+        return HASH_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(hmac(key, sessionToken + ':' + otp));
+    }
+
+    public boolean matches(String sessionToken, String otp, String storedHash) {
+        if (otp == null || storedHash == null) {
+            return false;
+        }
+        if (!storedHash.startsWith(HASH_PREFIX)) {
+            return passwordEncoder.matches(otp, storedHash);
+        }
+        return MessageDigest.isEqual(
+                hash(sessionToken, otp).getBytes(StandardCharsets.US_ASCII),
+                storedHash.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public int failedAttempts(SignupVerificationSession session) {
+        Attempts current = attempts.get(session.getSessionToken());
+        return Math.max(current == null ? 0 : current.count(), session.getAttemptCount());
+    }
+
+    /**
+     * Counts a failed attempt and returns the new total, never lower than what the session row already holds.
+     */
+    public int recordFailedAttempt(SignupVerificationSession session) {
+        cleanupExpired();
+        long expiresAtEpochMs = session.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        int count = attempts.compute(session.getSessionToken(), (token, current) -> {
+            int previous = Math.max(current == null ? 0 : current.count(), session.getAttemptCount());
+            return new Attempts(previous + 1, expiresAtEpochMs);
+        }).count();
+        writeThrough.executeWithoutResult(status -> sessionRepository.raiseAttemptCount(session.getId(), count));
+        return count;
+    }
+
+    public void reset(String sessionToken) {
+        attempts.remove(sessionToken);
+    }
+
+    private void cleanupExpired() {
+        long now = Instant.now().toEpochMilli();
+        attempts.entrySet().removeIf(entry -> entry.getValue().expiresAtEpochMs() < now);
+    }
+
+    private static byte[] hmac(SecretKeySpec key, String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private record Attempts(int count, long expiresAtEpochMs) {
+    }
+}
@@ -0,0 +1,277 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.booking;
+
+import com.bookmysalon.entity.Booking;
+import com.bookmysalon.entity.BookingStatus;
+import com.bookmysalon.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory per-salon index of PENDING/CONFIRMED booking intervals.
+ * Salons are loaded lazily on first use and every read or write happens under a striped per-salon lock,
+ * so a conflict check and the insert that follows it are atomic on this node. Intervals that have ended are
+ * pruned on access, and salons left idle are evicted by a periodic sweep and reloaded on their next use.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingConflictIndex {
+
+    public static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+
+    @Value("${app.booking.conflict-index.idle-eviction-ms:1800000}")
+    private long idleEvictionMs;
+
+    private final Map<Long, SalonSlots> salons = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = createLocks();
+
+    public <T> T withSalonLock(Long salonId, Supplier<T> action) {
+        ReentrantLock lock = lockFor(salonId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void withSalonLock(Long salonId, Runnable action) {
+        withSalonLock(salonId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public boolean hasConflict(Long salonId, LocalDateTime startTime, LocalDateTime endTime, Long excludeBookingId) {
+        requireLock(salonId);
+        SalonSlots slots = slotsFor(salonId);
+
+        if (startTime.isBefore(slots.loadedFrom)) {
+            return excludeBookingId == null
+                    ? bookingRepository.existsBySalonIdAndStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
+                    salonId, ACTIVE_STATUSES, endTime, startTime)
+                    : bookingRepository.existsBySalonIdAndIdNotAndStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
+                    salonId, excludeBookingId, ACTIVE_STATUSES, endTime, startTime);
+        }
+
+        long exclude = excludeBookingId == null ? Long.MIN_VALUE : excludeBookingId;
+        return slots.tree.overlaps(toEpochSecond(startTime), toEpochSecond(endTime), exclude);
+    }
+
+    /**
+     * Records the persisted state of a booking. Active bookings are (re)inserted, everything else is dropped.
+     * If the surrounding transaction rolls back, the previous interval is restored.
+     */
+    public void track(Booking booking) {
+        Long salonId = booking.getSalonId();
+        requireLock(salonId);
+        SalonSlots slots = salons.get(salonId);
+        if (slots == null) {
+            return;
+        }
+        slots.touch();
+
+        long[] previous = slots.tree.get(booking.getId());
+        if (ACTIVE_STATUSES.contains(booking.getStatus())) {
+            slots.put(booking.getId(), toEpochSecond(booking.getStartTime()), toEpochSecond(booking.getEndTime()));
+        } else {
+            slots.remove(booking.getId());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            slots.pendingTracks++;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    withSalonLock(salonId, () -> {
+                        slots.pendingTracks--;
+                        if (status != STATUS_COMMITTED) {
+                            restore(salonId, slots, booking.getId(), previous);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns a copy of the salon's busy-cell bitmap for one day, built from the interval tree and cached
+     * until a booking touching that day changes. Only cells at or after the current time are authoritative.
+     */
+    public long[] busyCells(Long salonId, LocalDate date) {
+        return withSalonLock(salonId, () -> slotsFor(salonId).busyCells(date).clone());
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.conflict-index.idle-sweep-interval-ms:60000}")
+    public void evictIdleSalons() {
+        evictIdleSince(System.currentTimeMillis() - idleEvictionMs);
+    }
+
+    /**
+     * Drops salons not accessed since the given time. A salon with tracked writes still waiting for their
+     * transaction to complete is kept, since a reload could not see them yet.
+     */
+    int evictIdleSince(long lastAccessMillis) {
+        int evicted = 0;
+        for (Long salonId : new ArrayList<>(salons.keySet())) {
+            boolean removed = withSalonLock(salonId, () -> {
+                SalonSlots slots = salons.get(salonId);
+                if (slots == null || slots.pendingTracks > 0 || slots.lastAccessMillis >= lastAccessMillis) {
+                    return false;
+                }
+                salons.remove(salonId);
+                return true;
+            });
+            if (removed) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    SalonSlots slotsFor(Long salonId) {
+        SalonSlots slots = salons.get(salonId);
+        if (slots == null) {
+            slots = load(salonId);
+            salons.put(salonId, slots);
+        } else {
+            slots.pruneEndedBy(LocalDateTime.now());
+        }
+        slots.touch();
+        return slots;
+    }
+
+    void requireLock(Long salonId) {
+        if (!lockFor(salonId).isHeldByCurrentThread()) {
+            throw new IllegalStateException("Salon lock must be held to access the booking index");
+        }
+    }
+
+    static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private SalonSlots load(Long salonId) {
+        LocalDateTime loadedFrom = LocalDateTime.now();
+        SalonSlots slots = new SalonSlots(loadedFrom);
+        bookingRepository.findBySalonIdAndStatusInAndEndTimeAfter(salonId, ACTIVE_STATUSES, loadedFrom)
+                .forEach(slot -> slots.put(slot.getId(), toEpochSecond(slot.getStartTime()), toEpochSecond(slot.getEndTime())));
+        return slots;
+    }
+
+    private void restore(Long salonId, SalonSlots slots, Long bookingId, long[] previous) {
+        if (salons.get(salonId) != slots) {
+            return;
+        }
+        if (previous == null) {
+            slots.remove(bookingId);
+        } else {
+            slots.put(bookingId, previous[0], previous[1]);
+        }
+    }
+
+    private ReentrantLock lockFor(Long salonId) {
+        return locks[Math.floorMod(Long.hashCode(salonId), LOCK_STRIPES)];
+    }
+
+    private static ReentrantLock[] createLocks() {
+        ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+
+    static final class SalonSlots {
+        private static final long SECONDS_PER_DAY = 86_400L;
+        private static final long CELL_SECONDS = DayBitmap.CELL_MINUTES * 60L;
+
+        LocalDateTime loadedFrom;
+        final IntervalTree tree = new IntervalTree();
+        private final Map<LocalDate, long[]> busyDays = new HashMap<>();
+        private long lastAccessMillis;
+        private int pendingTracks;
+
+        private SalonSlots(LocalDateTime loadedFrom) {
+            this.loadedFrom = loadedFrom;
+        }
+
+        void put(long id, long start, long end) {
+            remove(id);
+            tree.put(id, start, end);
+            invalidateDays(start, end);
+        }
+
+        void remove(long id) {
+            long[] previous = tree.get(id);
+            if (previous != null) {
+                tree.remove(id);
+                invalidateDays(previous[0], previous[1]);
+            }
+        }
+
+        /**
+         * Removes intervals that ended at or before {@code now} and moves {@code loadedFrom} up to it,
+         * so earlier queries fall back to the database instead of missing the pruned bookings.
+         */
+        void pruneEndedBy(LocalDateTime now) {
+            List<Long> ended = new ArrayList<>();
+            tree.forEachEndedBy(toEpochSecond(now), (id, start, end) -> ended.add(id));
+            ended.forEach(this::remove);
+            if (now.isAfter(loadedFrom)) {
+                loadedFrom = now;
+            }
+        }
+
+        void touch() {
+            lastAccessMillis = System.currentTimeMillis();
+        }
+
+        long[] busyCells(LocalDate date) {
+            return busyDays.computeIfAbsent(date, day -> {
+                long dayStart = day.toEpochDay() * SECONDS_PER_DAY;
+                long[] bits = DayBitmap.empty();
+                tree.forEachOverlapping(dayStart, dayStart + SECONDS_PER_DAY, (id, start, end) -> DayBitmap.setRange(
+                        bits,
+                        (int) (Math.max(0, start - dayStart) / CELL_SECONDS),
+                        (int) ((Math.min(SECONDS_PER_DAY, end - dayStart) + CELL_SECONDS - 1) / CELL_SECONDS)
+                ));
+                return bits;
+            });
+        }
+
+        private void invalidateDays(long start, long end) {
+            if (busyDays.isEmpty()) {
+                return;
+            }
+            long firstDay = Math.floorDiv(start, SECONDS_PER_DAY);
+            long lastDay = Math.floorDiv(end - 1, SECONDS_PER_DAY);
+            for (long day = firstDay; day <= lastDay; day++) {
+                busyDays.remove(LocalDate.ofEpochDay(day));
+            }
+        }
+    }
+}
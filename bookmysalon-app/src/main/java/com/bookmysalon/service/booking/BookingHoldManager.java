@@ -0,0 +1,192 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.booking;
+
+import com.bookmysalon.entity.Booking;
+import com.bookmysalon.entity.BookingStatus;
+import com.bookmysalon.entity.NotificationType;
+import com.bookmysalon.repository.BookingRepository;
+import com.bookmysalon.service.analytics.BookingStatsRollup;
+import com.bookmysalon.service.notification.NotificationFanout;
+import com.bookmysalon.service.notification.NotificationRequest;
+import com.bookmysalon.service.outbox.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires PENDING bookings whose slot hold has run out.
+ * Holds sit in a {@link DelayQueue}; a periodic sweep drains the due ones, locks the rows that are still
+ * PENDING, cancels exactly those per salon with one bulk UPDATE under the salon lock and drops them from
+ * the conflict index. Confirmed or cancelled bookings
+ * are released lazily: their queue entry is ignored when it comes due.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingHoldManager {
+
+    private static final long RETRY_DELAY_MS = 30_000L;
+
+    private final BookingRepository bookingRepository;
+    private final BookingConflictIndex bookingConflictIndex;
+    private final NotificationFanout notificationFanout;
+    private final OutboxService outboxService;
+    private final BookingStatsRollup bookingStatsRollup;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.booking.hold.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.booking.hold.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private final DelayQueue<Hold> queue = new DelayQueue<>();
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+
+    /**
+     * Hold deadline for a new PENDING booking, never later than the booking's start; {@code null} when disabled.
+     */
+    public LocalDateTime holdUntil(LocalDateTime startTime) {
+        if (!enabled) {
+            return null;
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(ttlMinutes);
+        return startTime != null && startTime.isBefore(expiresAt) ? startTime : expiresAt;
+    }
+
+    /**
+     * Starts tracking the booking's hold once the current transaction commits.
+     */
+    public void hold(Booking booking) {
+        if (!enabled || booking.getHoldExpiresAt() == null || booking.getStatus() != BookingStatus.PENDING) {
+            return;
+        }
+        Hold hold = new Hold(booking.getId(), booking.getSalonId(), toEpochMilli(booking.getHoldExpiresAt()));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(hold);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(hold);
+            }
+        });
+    }
+
+    /**
+     * Stops tracking the booking's hold once the current transaction commits; a rollback keeps it.
+     */
+    public void release(Long bookingId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            holds.remove(bookingId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                holds.remove(bookingId);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        List<BookingRepository.HoldView> pending = bookingRepository.findByStatusAndHoldExpiresAtNotNull(BookingStatus.PENDING);
+        pending.forEach(view -> schedule(new Hold(view.getId(), view.getSalonId(), toEpochMilli(view.getHoldExpiresAt()))));
+        log.info("Restored {} pending booking holds", pending.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.hold.sweep-interval-ms:5000}")
+    public void expireDue() {
+        Map<Long, List<Hold>> dueBySalon = new HashMap<>();
+        for (Hold hold = queue.poll(); hold != null; hold = queue.poll()) {
+            if (holds.remove(hold.bookingId(), hold)) {
+                dueBySalon.computeIfAbsent(hold.salonId(), salonId -> new ArrayList<>()).add(hold);
+            }
+        }
+
+        dueBySalon.forEach((salonId, due) -> {
+            try {
+                expire(salonId, due.stream().map(Hold::bookingId).toList());
+            } catch (RuntimeException e) {
+                log.warn("Failed to expire {} holds for salon {}, retrying later: {}", due.size(), salonId, e.getMessage());
+                long retryAt = System.currentTimeMillis() + RETRY_DELAY_MS;
+                due.forEach(hold -> schedule(new Hold(hold.bookingId(), hold.salonId(), retryAt)));
+            }
+        });
+    }
+
+    private void expire(Long salonId, List<Long> bookingIds) {
+        bookingConflictIndex.withSalonLock(salonId, () -> transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Booking> expired = bookingRepository.lockExpiredHolds(bookingIds, BookingStatus.PENDING, now);
+            if (expired.isEmpty()) {
+                return;
+            }
+            int cancelled = bookingRepository.expireHolds(
+                    expired.stream().map(Booking::getId).toList(), BookingStatus.PENDING, BookingStatus.CANCELLED, now);
+
+            for (Booking booking : expired) {
+                booking.setStatus(BookingStatus.CANCELLED);
+                bookingConflictIndex.track(booking);
+                bookingStatsRollup.record(BookingStatsRollup.Facts.of(booking).withStatus(BookingStatus.PENDING), BookingStatsRollup.Facts.of(booking));
+                outboxService.recordBookingEvent("booking.expired", booking);
+
+                String description = "Booking #" + booking.getId() + " was cancelled because its hold expired";
+                notificationFanout.submit(NotificationRequest.toUser(
+                        booking.getCustomerId(), NotificationType.BOOKING_CANCELLATION, description, booking.getId()));
+                notificationFanout.submit(NotificationRequest.toSalonOwner(
+                        salonId, booking.getCustomerId(), NotificationType.BOOKING_CANCELLATION, description, booking.getId()));
+            }
+            log.info("Expired {} pending bookings for salon {}", cancelled, salonId);
+        }));
+    }
+
+    private void schedule(Hold hold) {
+        holds.put(hold.bookingId(), hold);
+        queue.put(hold);
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Hold(Long bookingId, Long salonId, long expiresAtEpochMs) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtEpochMs - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtEpochMs, ((Hold) other).expiresAtEpochMs);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.booking;
+
+import java.time.LocalTime;
+
+/**
+ * Fixed-granularity bitmap of one calendar day: 288 five-minute cells packed into a {@code long[5]}.
+ * Bit {@code i} covers the minutes {@code [i * 5, i * 5 + 5)} after midnight.
+ */
+public final class DayBitmap {
+
+    public static final int CELL_MINUTES = 5;
+    public static final int CELLS_PER_DAY = 24 * 60 / CELL_MINUTES;
+
+    private static final int WORDS = (CELLS_PER_DAY + 63) / 64;
+
+    private DayBitmap() {
+    }
+
+    public static long[] empty() {
+        return new long[WORDS];
+    }
+
+    public static int cellFloor(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / CELL_MINUTES;
+    }
+
+    public static int cellCeil(LocalTime time) {
+        int minutes = time.getHour() * 60 + time.getMinute() + (time.getSecond() > 0 || time.getNano() > 0 ? 1 : 0);
+        return (minutes + CELL_MINUTES - 1) / CELL_MINUTES;
+    }
+
+    public static int cellsFor(int minutes) {
+        return (minutes + CELL_MINUTES - 1) / CELL_MINUTES;
+    }
+
+    public static void setRange(long[] bits, int fromCell, int toCell) {
+        int from = Math.max(0, fromCell);
+        int to = Math.min(CELLS_PER_DAY, toCell);
+        for (int cell = from; cell < to; ) {
+            int word = cell >>> 6;
+            int offset = cell & 63;
+            int span = Math.min(64 - offset, to - cell);
+            long mask = span == 64 ? -1L : ((1L << span) - 1) << offset;
+            bits[word] |= mask;
+            cell += span;
+        }
+    }
+
+    public static void andNot(long[] target, long[] mask) {
+        for (int i = 0; i < WORDS; i++) {
+            target[i] &= ~mask[i];
+        }
+    }
+
+    /**
+     * Returns a bitmap whose bit {@code i} is set when cells {@code i .. i + length - 1} are all set in {@code free}.
+     * Uses doubling shifts, so the cost is O(log length) word passes.
+     */
+    public static long[] runStarts(long[] free, int length) {
+        long[] result = free.clone();
+        int covered = 1;
+        while (covered < length) {
+            int shift = Math.min(covered, length - covered);
+            long[] shifted = shiftDown(result, shift);
+            for (int i = 0; i < WORDS; i++) {
+                result[i] &= shifted[i];
+            }
+            covered += shift;
+        }
+        return result;
+    }
+
+    public static int nextSetBit(long[] bits, int fromCell) {
+        if (fromCell >= CELLS_PER_DAY) {
+            return -1;
+        }
+        int word = fromCell >>> 6;
+        long current = bits[word] & (-1L << (fromCell & 63));
+        while (true) {
+            if (current != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(current);
+                return cell < CELLS_PER_DAY ? cell : -1;
+            }
+            if (++word == WORDS) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+
+    private static long[] shiftDown(long[] bits, int shift) {
+        long[] shifted = new long[WORDS];
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int i = 0; i + wordShift < WORDS; i++) {
+            long low = bits[i + wordShift] >>> bitShift;
+            long high = bitShift == 0 || i + wordShift + 1 >= WORDS ? 0L : bits[i + wordShift + 1] << (64 - bitShift);
+            shifted[i] = low | high;
+        }
+        return shifted;
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.booking;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Augmented treap of half-open [start, end) intervals keyed by (start, id).
+ * Every node tracks the max end of its subtree so overlap lookups prune whole branches.
+ * Not thread-safe; callers guard it with the owning salon lock.
+ */
+class IntervalTree {
+
+    private Node root;
+    private final Map<Long, Node> nodesById = new HashMap<>();
+
+    int size() {
+        return nodesById.size();
+    }
+
+    long[] get(long id) {
+        Node node = nodesById.get(id);
+        return node == null ? null : new long[]{node.start, node.end};
+    }
+
+    void put(long id, long start, long end) {
+        remove(id);
+        Node node = new Node(id, start, end, ThreadLocalRandom.current().nextInt());
+        nodesById.put(id, node);
+        root = insert(root, node);
+    }
+
+    boolean remove(long id) {
+        Node node = nodesById.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node.start, node.id);
+        return true;
+    }
+
+    boolean overlaps(long start, long end, long excludeId) {
+        return overlaps(root, start, end, excludeId);
+    }
+
+    void forEachOverlapping(long start, long end, IntervalVisitor visitor) {
+        forEachOverlapping(root, start, end, visitor);
+    }
+
+    /**
+     * Visits every interval with {@code end <= cutoff}. Only nodes starting before the cutoff are walked.
+     */
+    void forEachEndedBy(long cutoff, IntervalVisitor visitor) {
+        forEachEndedBy(root, cutoff, visitor);
+    }
+
+    private boolean overlaps(Node node, long start, long end, long excludeId) {
+        if (node == null || node.maxEnd <= start) {
+            return false;
+        }
+        if (overlaps(node.left, start, end, excludeId)) {
+            return true;
+        }
+        if (node.start >= end) {
+            return false;
+        }
+        if (node.end > start && node.id != excludeId) {
+            return true;
+        }
+        return overlaps(node.right, start, end, excludeId);
+    }
+
+    private void forEachOverlapping(Node node, long start, long end, IntervalVisitor visitor) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        forEachOverlapping(node.left, start, end, visitor);
+        if (node.start >= end) {
+            return;
+        }
+        if (node.end > start) {
+            visitor.visit(node.id, node.start, node.end);
+        }
+        forEachOverlapping(node.right, start, end, visitor);
+    }
+
+    private void forEachEndedBy(Node node, long cutoff, IntervalVisitor visitor) {
+        if (node == null) {
+            return;
+        }
+        forEachEndedBy(node.left, cutoff, visitor);
+        if (node.start >= cutoff) {
+            return;
+        }
+        if (node.end <= cutoff) {
+            visitor.visit(node.id, node.start, node.end);
+        }
+        forEachEndedBy(node.right, cutoff, visitor);
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted.start, inserted.id, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, id);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else if (node.left.priority > node.right.priority) {
+            node = rotateRight(node);
+            node.right = delete(node.right, start, id);
+        } else {
+            node = rotateLeft(node);
+            node.left = delete(node.left, start, id);
+        }
+        node.update();
+        return node;
+    }
+
+    private int compare(long start, long id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    @FunctionalInterface
+    interface IntervalVisitor {
+        void visit(long id, long start, long end);
+    }
+
+    private static final class Node {
+        private final long id;
+        private final long start;
+        private final long end;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long id, long start, long end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            long max = end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.booking;
+
+import com.bookmysalon.repository.ServiceOfferingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-salon immutable snapshot of offering id to price and duration.
+ * Loaded with one query on first use and dropped whenever an offering of that salon is written.
+ * Every invalidation bumps the salon's version, and a snapshot loaded against an older version is
+ * never stored, so a reader racing a write cannot re-cache the old rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalonPriceTable {
+
+    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public Snapshot forSalon(Long salonId) {
+        Snapshot snapshot = snapshots.get(salonId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        long version = versions.computeIfAbsent(salonId, ignored -> versionSequence.incrementAndGet());
+        Map<Long, OfferingPrice> offerings = new HashMap<>();
+        serviceOfferingRepository.findPricesBySalonId(salonId).forEach(view -> offerings.put(
+                view.getId(),
+                new OfferingPrice(view.getId(), view.getPrice(), view.getDuration() == null ? 0 : view.getDuration())
+        ));
+        Snapshot loaded = new Snapshot(salonId, Map.copyOf(offerings));
+        versions.computeIfPresent(salonId, (id, current) -> {
+            if (current == version) {
+                snapshots.putIfAbsent(id, loaded);
+            }
+            return current;
+        });
+        return loaded;
+    }
+
+    /**
+     * Drops the snapshot now and again after the current transaction completes.
+     */
+    public void invalidate(Long salonId) {
+        if (salonId == null) {
+            return;
+        }
+        evict(salonId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(salonId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long salonId) {
+        versions.put(salonId, versionSequence.incrementAndGet());
+        snapshots.remove(salonId);
+    }
+
+    public record OfferingPrice(Long id, double price, int duration) {
+    }
+
+    public record Snapshot(Long salonId, Map<Long, OfferingPrice> offerings) {
+
+        public double totalPrice(Collection<Long> offeringIds) {
+            double total = 0;
+            for (Long offeringId : offeringIds) {
+                total += require(offeringId).price();
+            }
+            return total;
+        }
+
+        public int totalDuration(Collection<Long> offeringIds) {
+            int total = 0;
+            for (Long offeringId : offeringIds) {
+                total += require(offeringId).duration();
+            }
+            return total;
+        }
+
+        private OfferingPrice require(Long offeringId) {
+            OfferingPrice price = offerings.get(offeringId);
+            if (price == null) {
+                throw new IllegalArgumentException("Service offering " + offeringId + " is not offered by salon " + salonId);
+            }
+            return price;
+        }
+    }
+}
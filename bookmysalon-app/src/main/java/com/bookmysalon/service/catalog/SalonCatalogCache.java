@@ -0,0 +1,95 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.catalog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded LRU of immutable per-salon catalog snapshots, each holding the response body already
+ * serialized to JSON. Every invalidation bumps the salon's version, and a snapshot built against an
+ * older version is never stored, so a reader racing a write cannot re-cache the old catalog.
+ */
+@Component
+public class SalonCatalogCache {
+
+    @Value("${app.catalog.cache-size:1000}")
+    private int cacheSize;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final Map<Long, Snapshot> snapshots = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Snapshot> eldest) {
+            return size() > cacheSize;
+        }
+    });
+
+    public Snapshot get(Long salonId) {
+        return snapshots.get(salonId);
+    }
+
+    /**
+     * Version a snapshot built from now on must carry to be accepted by {@link #put(Snapshot)}.
+     */
+    public long currentVersion(Long salonId) {
+        return versions.computeIfAbsent(salonId, ignored -> versionSequence.incrementAndGet());
+    }
+
+    /**
+     * Stores the snapshot if its version is still current. The check and the store run inside the
+     * version map's compute, so an {@link #invalidate} cannot slip in between them.
+     */
+    public void put(Snapshot snapshot) {
+        versions.computeIfPresent(snapshot.salonId(), (id, current) -> {
+            if (current == snapshot.version()) {
+                snapshots.put(id, snapshot);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Forgets the version handed out for a salon that turned out not to exist.
+     */
+    public void abandon(Long salonId, long version) {
+        versions.remove(salonId, version);
+    }
+
+    /**
+     * Drops the snapshot now and again after the current transaction completes.
+     */
+    public void invalidate(Long salonId) {
+        if (salonId == null) {
+            return;
+        }
+        evict(salonId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(salonId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long salonId) {
+        versions.put(salonId, versionSequence.incrementAndGet());
+        snapshots.remove(salonId);
+    }
+
+    public record Snapshot(Long salonId, long version, String etag, byte[] json) {
+    }
+}
@@ -0,0 +1,318 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.idempotency;
+
+import com.bookmysalon.dto.response.ApiResponse;
+import com.bookmysalon.entity.IdempotencyRecord;
+import com.bookmysalon.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Replays the first successful response for a (scope, user, Idempotency-Key) triple.
+ * Completed responses live in a bounded LRU cache backed by the idempotency_keys table;
+ * the table row is inserted up front as a claim so duplicates on other instances wait too.
+ * Only 2xx responses are stored, failed attempts release the claim so the client can retry.
+ * A claim carries a lease that its instance renews while the request runs; another instance takes it over
+ * only after the lease lapses, and the original owner can then no longer complete or release it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${app.idempotency.wait-timeout-ms:30000}")
+    private long waitTimeoutMs;
+
+    @Value("${app.idempotency.lease-ms:30000}")
+    private long leaseMs;
+
+    private final Map<String, StoredResponse> cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+            return size() > cacheSize;
+        }
+    });
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Set<Long> ownedClaims = ConcurrentHashMap.newKeySet();
+
+    public <T> ResponseEntity<ApiResponse<T>> execute(String scope,
+                                                      String idempotencyKey,
+                                                      Long userId,
+                                                      Object request,
+                                                      Class<T> dataType,
+                                                      Supplier<ResponseEntity<ApiResponse<T>>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        String key = idempotencyKey.trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            return error(400, HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(request);
+        String cacheKey = scope + ':' + userId + ':' + key;
+        JavaType responseType = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, dataType);
+
+        StoredResponse stored = cached(cacheKey);
+        if (stored != null) {
+            return replay(stored, requestHash, responseType);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            return awaitInFlight(running, requestHash, responseType, () -> execute(scope, key, userId, request, dataType, action));
+        }
+
+        Long claimId = null;
+        try {
+            Claim claim = claim(scope, userId, key, requestHash);
+            if (claim == null) {
+                mine.complete(null);
+                return error(409, "A request with this " + HEADER + " is still being processed");
+            }
+            if (claim.stored() != null) {
+                cache.put(cacheKey, claim.stored());
+                mine.complete(claim.stored());
+                return replay(claim.stored(), requestHash, responseType);
+            }
+
+            claimId = claim.recordId();
+            ResponseEntity<ApiResponse<T>> response = action.get();
+            stored = complete(claimId, key, userId, requestHash, response);
+            if (stored != null) {
+                cache.put(cacheKey, stored);
+            }
+            mine.complete(stored);
+            return response;
+        } catch (RuntimeException e) {
+            if (claimId != null) {
+                release(claimId, key, userId);
+            }
+            mine.complete(null);
+            throw e;
+        } finally {
+            if (claimId != null) {
+                ownedClaims.remove(claimId);
+            }
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 30 * * * *}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            cache.values().removeIf(stored -> stored.expiresAtEpochMs() < now);
+        }
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Extends the leases of the claims this instance is still working on.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.lease-renew-interval-ms:10000}")
+    public void renewLeases() {
+        if (ownedClaims.isEmpty()) {
+            return;
+        }
+        try {
+            idempotencyRecordRepository.renewLeases(Set.copyOf(ownedClaims), LocalDateTime.now().plusNanos(leaseMs * 1_000_000L));
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew {} idempotency claim leases: {}", ownedClaims.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a claim owned by this caller, a claim holding the stored response when a previous attempt
+     * already completed, or {@code null} when another caller is still running it.
+     */
+    private Claim claim(String scope, Long userId, String key, String requestHash) {
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        while (true) {
+            Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByScopeAndUserIdAndIdempotencyKey(scope, userId, key);
+            if (existing.isEmpty()) {
+                IdempotencyRecord record = new IdempotencyRecord();
+                record.setScope(scope);
+                record.setUserId(userId);
+                record.setIdempotencyKey(key);
+                record.setRequestHash(requestHash);
+                record.setExpiresAt(LocalDateTime.now().plusHours(ttlHours));
+                record.setLeaseExpiresAt(LocalDateTime.now().plusNanos(leaseMs * 1_000_000L));
+                try {
+                    Long recordId = idempotencyRecordRepository.saveAndFlush(record).getId();
+                    ownedClaims.add(recordId);
+                    return new Claim(recordId, null);
+                } catch (DataIntegrityViolationException e) {
+                    continue;
+                }
+            }
+
+            IdempotencyRecord record = existing.get();
+            if (record.getStatusCode() != null) {
+                return new Claim(null, toStored(record));
+            }
+            if (record.getLeaseExpiresAt() != null && record.getLeaseExpiresAt().isBefore(LocalDateTime.now())
+                    && idempotencyRecordRepository.deleteLapsedClaim(record.getId(), LocalDateTime.now()) > 0) {
+                log.warn("Taking over idempotency claim {} for user {} after its lease lapsed", key, userId);
+                continue;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return null;
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private <T> StoredResponse complete(Long claimId, String key, Long userId, String requestHash, ResponseEntity<ApiResponse<T>> response) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(claimId, key, userId);
+            return null;
+        }
+
+        int statusCode = response.getStatusCode().value();
+        String body = writeJson(response.getBody());
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(ttlHours);
+        if (idempotencyRecordRepository.completeClaim(claimId, statusCode, body, expiresAt) == 0) {
+            log.warn("Idempotency claim {} for user {} was taken over before it completed; response not stored", key, userId);
+            return null;
+        }
+        return new StoredResponse(requestHash, statusCode, body, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void release(Long claimId, String key, Long userId) {
+        try {
+            idempotencyRecordRepository.deleteClaim(claimId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency claim {} for user {}: {}", key, userId, e.getMessage());
+        }
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> awaitInFlight(CompletableFuture<StoredResponse> running,
+                                                             String requestHash,
+                                                             JavaType responseType,
+                                                             Supplier<ResponseEntity<ApiResponse<T>>> retry) {
+        StoredResponse stored;
+        try {
+            stored = running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return error(409, "A request with this " + HEADER + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(409, "A request with this " + HEADER + " is still being processed");
+        } catch (ExecutionException e) {
+            stored = null;
+        }
+        return stored == null ? retry.get() : replay(stored, requestHash, responseType);
+    }
+
+    private StoredResponse cached(String cacheKey) {
+        StoredResponse stored = cache.get(cacheKey);
+        if (stored != null && stored.expiresAtEpochMs() < System.currentTimeMillis()) {
+            cache.remove(cacheKey);
+            return null;
+        }
+        return stored;
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> replay(StoredResponse stored, String requestHash, JavaType responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            return error(422, HEADER + " was already used with a different request");
+        }
+        try {
+            ApiResponse<T> body = objectMapper.readValue(stored.body(), responseType);
+            return ResponseEntity.status(stored.statusCode())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response could not be read", e);
+        }
+    }
+
+    private StoredResponse toStored(IdempotencyRecord record) {
+        long expiresAt = record.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new StoredResponse(record.getRequestHash(), record.getStatusCode(), record.getResponseBody(), expiresAt);
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(writeJson(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotent payload", e);
+        }
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> error(int status, String message) {
+        return ResponseEntity.status(status).body(ApiResponse.<T>builder()
+                .success(false)
+                .error(message)
+                .build());
+    }
+
+    private record Claim(Long recordId, StoredResponse stored) {
+    }
+
+    private record StoredResponse(String requestHash, int statusCode, String body, long expiresAtEpochMs) {
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.impl;
+
+import com.bookmysalon.dto.availability.SalonAvailabilityDto;
+import com.bookmysalon.dto.availability.TimeSlotDto;
+import com.bookmysalon.entity.Salon;
+import com.bookmysalon.exception.SalonNotFoundException;
+import com.bookmysalon.repository.SalonRepository;
+import com.bookmysalon.service.AvailabilityService;
+import com.bookmysalon.service.booking.BookingConflictIndex;
+import com.bookmysalon.service.booking.DayBitmap;
+import com.bookmysalon.service.booking.SalonPriceTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private static final int MAX_DAYS = 14;
+    private static final int MAX_DURATION_MINUTES = 12 * 60;
+    private static final int MAX_STEP_MINUTES = 4 * 60;
+
+    private final SalonRepository salonRepository;
+    private final SalonPriceTable salonPriceTable;
+    private final BookingConflictIndex bookingConflictIndex;
+
+    @Override
+    public List<SalonAvailabilityDto> getSalonAvailability(Long salonId,
+                                                           LocalDate fromDate,
+                                                           int days,
+                                                           Set<Long> serviceOfferingIds,
+                                                           Integer durationMinutes,
+                                                           int stepMinutes) {
+        Salon salon = salonRepository.findById(salonId)
+                .orElseThrow(() -> new SalonNotFoundException("Salon not found with id: " + salonId));
+
+        int resolvedDuration = serviceOfferingIds != null && !serviceOfferingIds.isEmpty()
+                ? salonPriceTable.forSalon(salonId).totalDuration(serviceOfferingIds)
+                : durationMinutes == null ? 0 : durationMinutes;
+        validateQuery(days, resolvedDuration, stepMinutes);
+
+        List<SalonAvailabilityDto> result = new ArrayList<>(days);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < days; i++) {
+            result.add(computeDay(salon, fromDate.plusDays(i), resolvedDuration, stepMinutes, now));
+        }
+        return result;
+    }
+
+    @Override
+    public List<SalonAvailabilityDto> getCityAvailability(String city, LocalDate fromDate, int days, int durationMinutes, int stepMinutes) {
+        if (city == null || city.isBlank()) {
+            throw new IllegalArgumentException("City is required");
+        }
+        validateQuery(days, durationMinutes, stepMinutes);
+
+        List<Salon> salons = salonRepository.findByCity(city.trim());
+        List<SalonAvailabilityDto> result = new ArrayList<>(salons.size() * days);
+        LocalDateTime now = LocalDateTime.now();
+        for (Salon salon : salons) {
+            for (int i = 0; i < days; i++) {
+                SalonAvailabilityDto day = computeDay(salon, fromDate.plusDays(i), durationMinutes, stepMinutes, now);
+                if (!day.getSlots().isEmpty()) {
+                    result.add(day);
+                }
+            }
+        }
+        return result;
+    }
+
+    private SalonAvailabilityDto computeDay(Salon salon, LocalDate date, int durationMinutes, int stepMinutes, LocalDateTime now) {
+        SalonAvailabilityDto.SalonAvailabilityDtoBuilder builder = SalonAvailabilityDto.builder()
+                .salonId(salon.getId())
+                .salonName(salon.getName())
+                .date(date)
+                .durationMinutes(durationMinutes)
+                .slots(List.of());
+
+        if (date.isBefore(now.toLocalDate())) {
+            return builder.build();
+        }
+
+        long[] free = openCells(salon);
+        if (date.equals(now.toLocalDate())) {
+            long[] past = DayBitmap.empty();
+            DayBitmap.setRange(past, 0, DayBitmap.cellCeil(now.toLocalTime()));
+            DayBitmap.andNot(free, past);
+        }
+        DayBitmap.andNot(free, bookingConflictIndex.busyCells(salon.getId(), date));
+
+        long[] starts = DayBitmap.runStarts(free, DayBitmap.cellsFor(durationMinutes));
+        int stepCells = stepMinutes / DayBitmap.CELL_MINUTES;
+        List<TimeSlotDto> slots = new ArrayList<>();
+        for (int cell = DayBitmap.nextSetBit(starts, 0); cell >= 0; ) {
+            if (cell % stepCells != 0) {
+                cell = DayBitmap.nextSetBit(starts, (cell / stepCells + 1) * stepCells);
+                continue;
+            }
+            LocalDateTime startTime = date.atStartOfDay().plusMinutes((long) cell * DayBitmap.CELL_MINUTES);
+            slots.add(TimeSlotDto.builder()
+                    .startTime(startTime)
+                    .endTime(startTime.plusMinutes(durationMinutes))
+                    .build());
+            cell = DayBitmap.nextSetBit(starts, cell + stepCells);
+        }
+        return builder.slots(slots).build();
+    }
+
+    private long[] openCells(Salon salon) {
+        long[] open = DayBitmap.empty();
+        LocalTime openTime = salon.getOpenTime();
+        LocalTime closeTime = salon.getCloseTime();
+        if (openTime == null || closeTime == null) {
+            return open;
+        }
+
+        int openCell = DayBitmap.cellCeil(openTime);
+        int closeCell = DayBitmap.cellFloor(closeTime);
+        if (closeTime.isAfter(openTime)) {
+            DayBitmap.setRange(open, openCell, closeCell);
+        } else {
+            DayBitmap.setRange(open, openCell, DayBitmap.CELLS_PER_DAY);
+            DayBitmap.setRange(open, 0, closeCell);
+        }
+        return open;
+    }
+
+    private void validateQuery(int days, int durationMinutes, int stepMinutes) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Days must be between 1 and " + MAX_DAYS);
+        }
+        if (durationMinutes <= 0 || durationMinutes > MAX_DURATION_MINUTES) {
+            throw new IllegalArgumentException("Duration must be between 1 and " + MAX_DURATION_MINUTES + " minutes");
+        }
+        if (stepMinutes < DayBitmap.CELL_MINUTES || stepMinutes > MAX_STEP_MINUTES || stepMinutes % DayBitmap.CELL_MINUTES != 0) {
+            throw new IllegalArgumentException("Step must be a multiple of " + DayBitmap.CELL_MINUTES + " minutes up to " + MAX_STEP_MINUTES);
+        }
+    }
+}
@@ -7,22 +7,30 @@ package com.bookmysalon.service.impl;
 
 import com.bookmysalon.dto.BookingDto;
 import com.bookmysalon.dto.BookingRequestDto;
+import com.bookmysalon.dto.response.CursorPage;
 import com.bookmysalon.entity.Booking;
 import com.bookmysalon.entity.BookingStatus;
 import com.bookmysalon.entity.NotificationType;
-import com.bookmysalon.entity.Salon;
-import com.bookmysalon.entity.ServiceOffering;
 import com.bookmysalon.exception.BookingNotFoundException;
 import com.bookmysalon.repository.BookingRepository;
-import com.bookmysalon.repository.SalonRepository;
-import com.bookmysalon.repository.ServiceOfferingRepository;
 import com.bookmysalon.service.BookingService;
-import com.bookmysalon.service.NotificationService;
+import com.bookmysalon.service.analytics.BookingStatsRollup;
+import com.bookmysalon.service.booking.BookingConflictIndex;
+import com.bookmysalon.service.booking.BookingHoldManager;
+import com.bookmysalon.service.booking.SalonPriceTable;
+import com.bookmysalon.service.notification.NotificationFanout;
+import com.bookmysalon.service.notification.NotificationRequest;
+import com.bookmysalon.service.outbox.OutboxService;
+import com.bookmysalon.service.pagination.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -33,12 +41,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional
 public class BookingServiceImpl implements BookingService {
-    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    private static final LocalDateTime PAGE_LOWER_BOUND = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime PAGE_UPPER_BOUND = LocalDateTime.of(9999, 12, 31, 0, 0);
 
     private final BookingRepository bookingRepository;
-    private final ServiceOfferingRepository serviceOfferingRepository;
-    private final SalonRepository salonRepository;
-    private final NotificationService notificationService;
+    private final NotificationFanout notificationFanout;
+    private final BookingConflictIndex bookingConflictIndex;
+    private final BookingHoldManager bookingHoldManager;
+    private final SalonPriceTable salonPriceTable;
+    private final OutboxService outboxService;
+    private final BookingStatsRollup bookingStatsRollup;
 
     @Override
     public BookingDto createBooking(BookingRequestDto bookingRequestDto, Long customerId) {
@@ -66,7 +79,6 @@ public class BookingServiceImpl implements BookingService {
         if (bookingRequestDto.getServiceOfferingIds() == null || bookingRequestDto.getServiceOfferingIds().isEmpty()) {
             throw new IllegalArgumentException("At least one service offering must be selected");
         }
-        validateNoOverlap(bookingRequestDto.getSalonId(), bookingRequestDto.getStartTime(), bookingRequestDto.getEndTime(), null);
 
         Booking booking = new Booking();
         booking.setSalonId(bookingRequestDto.getSalonId());
@@ -75,9 +87,18 @@ public class BookingServiceImpl implements BookingService {
         booking.setEndTime(bookingRequestDto.getEndTime());
         booking.setServiceOfferingIds(bookingRequestDto.getServiceOfferingIds());
         booking.setStatus(BookingStatus.PENDING);
+        booking.setHoldExpiresAt(bookingHoldManager.holdUntil(bookingRequestDto.getStartTime()));
         booking.setTotalPrice(calculateTotalPrice(bookingRequestDto.getSalonId(), bookingRequestDto.getServiceOfferingIds()));
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking = bookingConflictIndex.withSalonLock(booking.getSalonId(), () -> {
+            validateNoOverlap(booking.getSalonId(), booking.getStartTime(), booking.getEndTime(), null);
+            Booking saved = bookingRepository.save(booking);
+            bookingConflictIndex.track(saved);
+            return saved;
+        });
+        bookingHoldManager.hold(savedBooking);
+        bookingStatsRollup.record(null, BookingStatsRollup.Facts.of(savedBooking));
+        outboxService.recordBookingEvent("booking.created", savedBooking);
         return mapToDto(savedBooking);
     }
 
@@ -109,11 +130,33 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getBookingPage(Set<BookingStatus> statuses, LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        return page(statuses, from, to, cursor, limit,
+                (resolved, afterStart, afterId, until, pageable) -> bookingRepository.findPage(resolved, afterStart, afterId, until, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getSalonBookingPage(Long salonId, Set<BookingStatus> statuses, LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        return page(statuses, from, to, cursor, limit,
+                (resolved, afterStart, afterId, until, pageable) -> bookingRepository.findSalonPage(salonId, resolved, afterStart, afterId, until, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getCustomerBookingPage(Long customerId, Set<BookingStatus> statuses, LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        return page(statuses, from, to, cursor, limit,
+                (resolved, afterStart, afterId, until, pageable) -> bookingRepository.findCustomerPage(customerId, resolved, afterStart, afterId, until, pageable));
+    }
+
     @Override
     public BookingDto updateBooking(Long id, BookingDto bookingDto) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + id));
         BookingStatus previousStatus = booking.getStatus();
+        BookingStatsRollup.Facts before = BookingStatsRollup.Facts.of(booking);
 
         LocalDateTime updatedStart = bookingDto.getStartTime() != null ? bookingDto.getStartTime() : booking.getStartTime();
         LocalDateTime updatedEnd = bookingDto.getEndTime() != null ? bookingDto.getEndTime() : booking.getEndTime();
@@ -121,13 +164,26 @@ public class BookingServiceImpl implements BookingService {
         if (!updatedEnd.isAfter(updatedStart)) {
             throw new IllegalArgumentException("End time must be after start time");
         }
-        validateNoOverlap(booking.getSalonId(), updatedStart, updatedEnd, booking.getId());
 
-        if (bookingDto.getStartTime() != null) booking.setStartTime(updatedStart);
-        if (bookingDto.getEndTime() != null) booking.setEndTime(updatedEnd);
-        if (bookingDto.getStatus() != null) booking.setStatus(bookingDto.getStatus());
+        Booking updatedBooking = bookingConflictIndex.withSalonLock(booking.getSalonId(), () -> {
+            BookingStatus updatedStatus = bookingDto.getStatus() != null ? bookingDto.getStatus() : booking.getStatus();
+            if (BookingConflictIndex.ACTIVE_STATUSES.contains(updatedStatus)) {
+                validateNoOverlap(booking.getSalonId(), updatedStart, updatedEnd, booking.getId());
+            }
+
+            if (bookingDto.getStartTime() != null) booking.setStartTime(updatedStart);
+            if (bookingDto.getEndTime() != null) booking.setEndTime(updatedEnd);
+            if (bookingDto.getStatus() != null) booking.setStatus(bookingDto.getStatus());
 
-        Booking updatedBooking = bookingRepository.save(booking);
+            Booking saved = bookingRepository.save(booking);
+            bookingConflictIndex.track(saved);
+            return saved;
+        });
+        if (updatedBooking.getStatus() != BookingStatus.PENDING) {
+            bookingHoldManager.release(updatedBooking.getId());
+        }
+        bookingStatsRollup.record(before, BookingStatsRollup.Facts.of(updatedBooking));
+        outboxService.recordBookingEvent("booking.updated", updatedBooking);
         notifyOnStatusChange(updatedBooking, previousStatus);
         return mapToDto(updatedBooking);
     }
@@ -137,19 +193,67 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + id));
         BookingStatus previousStatus = booking.getStatus();
-        booking.setStatus(BookingStatus.CANCELLED);
-        Booking updatedBooking = bookingRepository.save(booking);
+        BookingStatsRollup.Facts before = BookingStatsRollup.Facts.of(booking);
+        Booking updatedBooking = bookingConflictIndex.withSalonLock(booking.getSalonId(), () -> {
+            booking.setStatus(BookingStatus.CANCELLED);
+            Booking saved = bookingRepository.save(booking);
+            bookingConflictIndex.track(saved);
+            return saved;
+        });
+        bookingHoldManager.release(updatedBooking.getId());
+        bookingStatsRollup.record(before, BookingStatsRollup.Facts.of(updatedBooking));
+        outboxService.recordBookingEvent("booking.cancelled", updatedBooking);
         notifyOnStatusChange(updatedBooking, previousStatus);
     }
 
     @Override
     public Double calculateTotalPrice(Long salonId, Set<Long> serviceOfferingIds) {
-        return serviceOfferingIds.stream()
-                .map(serviceOfferingRepository::findById)
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .mapToDouble(ServiceOffering::getPrice)
-                .sum();
+        return salonPriceTable.forSalon(salonId).totalPrice(serviceOfferingIds);
+    }
+
+    private CursorPage<BookingDto> page(Set<BookingStatus> statuses,
+                                        LocalDateTime from,
+                                        LocalDateTime to,
+                                        String cursor,
+                                        Integer limit,
+                                        PageQuery query) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        if (from != null && to != null && !to.isAfter(from)) {
+            throw new IllegalArgumentException("To must be after from");
+        }
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        LocalDateTime afterStart = from == null ? PAGE_LOWER_BOUND : from;
+        long afterId = 0L;
+        if (after != null && !after.time().isBefore(afterStart)) {
+            afterStart = after.time();
+            afterId = after.id();
+        }
+        Collection<BookingStatus> resolvedStatuses = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(BookingStatus.class)
+                : statuses;
+
+        List<Booking> rows = query.fetch(
+                resolvedStatuses,
+                afterStart,
+                afterId,
+                to == null ? PAGE_UPPER_BOUND : to,
+                PageRequest.of(0, pageSize + 1)
+        );
+        boolean hasMore = rows.size() > pageSize;
+        List<Booking> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        Booking last = pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1);
+
+        return CursorPage.<BookingDto>builder()
+                .items(pageRows.stream().map(this::mapToDto).collect(Collectors.toList()))
+                .nextCursor(hasMore ? new KeysetCursor(last.getStartTime(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<Booking> fetch(Collection<BookingStatus> statuses, LocalDateTime afterStart, long afterId, LocalDateTime until, Pageable pageable);
     }
 
     private BookingDto mapToDto(Booking booking) {
@@ -166,6 +270,7 @@ public class BookingServiceImpl implements BookingService {
                 .serviceOfferingIds(safeServiceOfferingIds)
                 .status(booking.getStatus())
                 .totalPrice(booking.getTotalPrice())
+                .holdExpiresAt(booking.getHoldExpiresAt())
                 .build();
     }
 
@@ -187,38 +292,12 @@ public class BookingServiceImpl implements BookingService {
             return;
         }
 
-        notificationService.createAndPushNotification(
-                booking.getCustomerId(),
-                type,
-                description,
-                booking.getId(),
-                null,
-                null
-        );
-
-        Salon salon = salonRepository.findById(booking.getSalonId()).orElse(null);
-        if (salon != null && salon.getOwnerId() != null && !salon.getOwnerId().equals(booking.getCustomerId())) {
-            notificationService.createAndPushNotification(
-                    salon.getOwnerId(),
-                    type,
-                    description,
-                    booking.getId(),
-                    null,
-                    null
-            );
-        }
+        notificationFanout.submit(NotificationRequest.toUser(booking.getCustomerId(), type, description, booking.getId()));
+        notificationFanout.submit(NotificationRequest.toSalonOwner(booking.getSalonId(), booking.getCustomerId(), type, description, booking.getId()));
     }
 
     private void validateNoOverlap(Long salonId, LocalDateTime startTime, LocalDateTime endTime, Long excludeBookingId) {
-        boolean hasOverlap = excludeBookingId == null
-                ? bookingRepository.existsBySalonIdAndStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
-                salonId, ACTIVE_STATUSES, endTime, startTime
-        )
-                : bookingRepository.existsBySalonIdAndIdNotAndStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
-                salonId, excludeBookingId, ACTIVE_STATUSES, endTime, startTime
-        );
-
-        if (hasOverlap) {
+        if (bookingConflictIndex.hasConflict(salonId, startTime, endTime, excludeBookingId)) {
             throw new IllegalArgumentException("Selected slot is already booked for this salon");
         }
     }
@@ -10,6 +10,7 @@ import com.bookmysalon.entity.Category;
 import com.bookmysalon.exception.CategoryNotFoundException;
 import com.bookmysalon.repository.CategoryRepository;
 import com.bookmysalon.service.CategoryService;
+import com.bookmysalon.service.catalog.SalonCatalogCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +24,7 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final SalonCatalogCache salonCatalogCache;
 
     @Override
     public CategoryDto createCategory(CategoryDto categoryDto) {
@@ -42,6 +44,7 @@ public class CategoryServiceImpl implements CategoryService {
         category.setSalonId(categoryDto.getSalonId());
 
         Category savedCategory = categoryRepository.save(category);
+        salonCatalogCache.invalidate(savedCategory.getSalonId());
         return mapToDto(savedCategory);
     }
 
@@ -75,15 +78,16 @@ public class CategoryServiceImpl implements CategoryService {
         if (categoryDto.getImage() != null) category.setImage(categoryDto.getImage());
 
         Category updatedCategory = categoryRepository.save(category);
+        salonCatalogCache.invalidate(updatedCategory.getSalonId());
         return mapToDto(updatedCategory);
     }
 
     @Override
     public void deleteCategory(Long id) {
-        if (!categoryRepository.existsById(id)) {
-            throw new CategoryNotFoundException("Category not found with id: " + id);
-        }
-        categoryRepository.deleteById(id);
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + id));
+        categoryRepository.delete(category);
+        salonCatalogCache.invalidate(category.getSalonId());
     }
 
     private CategoryDto mapToDto(Category category) {
@@ -11,6 +11,7 @@ import com.bookmysalon.entity.NotificationType;
 import com.bookmysalon.exception.UserNotFoundException;
 import com.bookmysalon.repository.NotificationRepository;
 import com.bookmysalon.service.NotificationService;
+import com.bookmysalon.service.outbox.OutboxService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -27,6 +28,7 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final OutboxService outboxService;
 
     @Override
     public NotificationDto createNotification(NotificationDto notificationDto) {
@@ -54,6 +56,7 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setMessageId(notificationDto.getMessageId());
 
         Notification savedNotification = notificationRepository.save(notification);
+        outboxService.recordNotificationEvent("notification.created", savedNotification);
         return mapToDto(savedNotification);
     }
 
@@ -74,6 +77,7 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setMessageId(messageId);
 
         Notification saved = notificationRepository.save(notification);
+        outboxService.recordNotificationEvent("notification.created", saved);
         NotificationDto dto = mapToDto(saved);
         messagingTemplate.convertAndSendToUser(String.valueOf(userId), "/queue/notifications", dto);
         return dto;
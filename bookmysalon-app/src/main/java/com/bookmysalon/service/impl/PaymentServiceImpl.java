@@ -13,6 +13,7 @@ import com.bookmysalon.exception.UserNotFoundException;
 import com.bookmysalon.repository.BookingRepository;
 import com.bookmysalon.repository.PaymentOrderRepository;
 import com.bookmysalon.service.PaymentService;
+import com.bookmysalon.service.outbox.OutboxService;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentLink;
@@ -32,6 +33,7 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final PaymentOrderRepository paymentOrderRepository;
     private final BookingRepository bookingRepository;
+    private final OutboxService outboxService;
 
     @Value("${stripe.api.key}")
     private String stripeApiKey;
@@ -59,6 +61,7 @@ public class PaymentServiceImpl implements PaymentService {
         paymentOrder.setStatus(PaymentStatus.PENDING);
 
         PaymentOrder savedPayment = paymentOrderRepository.save(paymentOrder);
+        outboxService.recordPaymentEvent("payment.created", savedPayment);
         return mapToDto(savedPayment);
     }
 
@@ -137,7 +140,7 @@ public class PaymentServiceImpl implements PaymentService {
         PaymentOrder paymentOrder = paymentOrderRepository.findByPaymentLinkId(paymentLinkId)
                 .orElseThrow(() -> new UserNotFoundException("Payment not found"));
         paymentOrder.setStatus(PaymentStatus.COMPLETED);
-        paymentOrderRepository.save(paymentOrder);
+        outboxService.recordPaymentEvent("payment.completed", paymentOrderRepository.save(paymentOrder));
     }
 
     @Override
@@ -145,7 +148,7 @@ public class PaymentServiceImpl implements PaymentService {
         PaymentOrder paymentOrder = paymentOrderRepository.findByPaymentLinkId(paymentLinkId)
                 .orElseThrow(() -> new UserNotFoundException("Payment not found"));
         paymentOrder.setStatus(PaymentStatus.FAILED);
-        paymentOrderRepository.save(paymentOrder);
+        outboxService.recordPaymentEvent("payment.failed", paymentOrderRepository.save(paymentOrder));
     }
 
     private PaymentOrderDto mapToDto(PaymentOrder paymentOrder) {
@@ -5,16 +5,26 @@
  */
 package com.bookmysalon.service.impl;
 
+import com.bookmysalon.dto.RatingSummaryDto;
 import com.bookmysalon.dto.ReviewDto;
 import com.bookmysalon.dto.ReviewRequestDto;
+import com.bookmysalon.dto.response.CursorPage;
 import com.bookmysalon.entity.Review;
 import com.bookmysalon.exception.ReviewNotFoundException;
 import com.bookmysalon.repository.ReviewRepository;
 import com.bookmysalon.service.ReviewService;
+import com.bookmysalon.service.catalog.SalonCatalogCache;
+import com.bookmysalon.service.pagination.KeysetCursor;
+import com.bookmysalon.service.pagination.RatingCursor;
+import com.bookmysalon.service.review.ReviewSort;
+import com.bookmysalon.service.review.SalonRatingAggregate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,7 +33,11 @@ import java.util.stream.Collectors;
 @Transactional
 public class ReviewServiceImpl implements ReviewService {
 
+    private static final LocalDateTime PAGE_UPPER_BOUND = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final ReviewRepository reviewRepository;
+    private final SalonRatingAggregate salonRatingAggregate;
+    private final SalonCatalogCache salonCatalogCache;
 
     @Override
     public ReviewDto createReview(ReviewRequestDto reviewRequestDto, Long userId) {
@@ -53,6 +67,7 @@ public class ReviewServiceImpl implements ReviewService {
         review.setUserId(userId);
 
         Review savedReview = reviewRepository.save(review);
+        onRatingChanged(savedReview.getSalonId(), null, savedReview.getRating());
         return mapToDto(savedReview);
     }
 
@@ -77,6 +92,58 @@ public class ReviewServiceImpl implements ReviewService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewDto> getSalonReviewPage(Long salonId, String sort, Double minRating, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        double resolvedMinRating = minRating == null ? 0 : minRating;
+        if (resolvedMinRating < 0 || resolvedMinRating > 5) {
+            throw new IllegalArgumentException("Minimum rating must be between 0 and 5");
+        }
+
+        ReviewSort resolvedSort = ReviewSort.parse(sort);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<ReviewDto> rows = switch (resolvedSort) {
+            case NEWEST -> {
+                KeysetCursor before = KeysetCursor.decode(cursor);
+                yield reviewRepository.findNewestPage(salonId, resolvedMinRating,
+                        before == null ? PAGE_UPPER_BOUND : before.time(),
+                        before == null ? Long.MAX_VALUE : before.id(),
+                        pageable);
+            }
+            case HIGHEST -> {
+                RatingCursor before = RatingCursor.decode(cursor);
+                yield reviewRepository.findHighestPage(salonId, resolvedMinRating,
+                        before == null ? Double.MAX_VALUE : before.rating(),
+                        before == null ? Long.MAX_VALUE : before.id(),
+                        pageable);
+            }
+            case LOWEST -> {
+                RatingCursor after = RatingCursor.decode(cursor);
+                yield reviewRepository.findLowestPage(salonId, resolvedMinRating,
+                        after == null ? -Double.MAX_VALUE : after.rating(),
+                        after == null ? 0L : after.id(),
+                        pageable);
+            }
+        };
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ReviewDto> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        ReviewDto last = pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1);
+        String nextCursor = null;
+        if (hasMore) {
+            nextCursor = resolvedSort == ReviewSort.NEWEST
+                    ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode()
+                    : new RatingCursor(last.getRating(), last.getId()).encode();
+        }
+
+        return CursorPage.<ReviewDto>builder()
+                .items(pageRows)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     public List<ReviewDto> getReviewsByUserId(Long userId) {
         return reviewRepository.findByUserId(userId).stream()
@@ -89,31 +156,46 @@ public class ReviewServiceImpl implements ReviewService {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ReviewNotFoundException("Review not found with id: " + id));
 
+        if (reviewRequestDto.getRating() != null && (reviewRequestDto.getRating() < 1 || reviewRequestDto.getRating() > 5)) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+
+        Double previousRating = review.getRating();
         if (reviewRequestDto.getText() != null) review.setText(reviewRequestDto.getText());
         if (reviewRequestDto.getRating() != null) review.setRating(reviewRequestDto.getRating());
 
         Review updatedReview = reviewRepository.save(review);
+        onRatingChanged(updatedReview.getSalonId(), previousRating, updatedReview.getRating());
         return mapToDto(updatedReview);
     }
 
     @Override
     public void deleteReview(Long id) {
-        if (!reviewRepository.existsById(id)) {
-            throw new ReviewNotFoundException("Review not found with id: " + id);
-        }
-        reviewRepository.deleteById(id);
+        Review review = reviewRepository.findById(id)
+                .orElseThrow(() -> new ReviewNotFoundException("Review not found with id: " + id));
+        reviewRepository.delete(review);
+        onRatingChanged(review.getSalonId(), review.getRating(), null);
     }
 
     @Override
     public Double getAverageRating(Long salonId) {
-        List<Review> reviews = reviewRepository.findBySalonId(salonId);
-        if (reviews.isEmpty()) {
-            return 0.0;
-        }
-        return reviews.stream()
-                .mapToDouble(Review::getRating)
-                .average()
-                .orElse(0.0);
+        return salonRatingAggregate.get(salonId).average();
+    }
+
+    @Override
+    public RatingSummaryDto getRatingSummary(Long salonId) {
+        SalonRatingAggregate.Summary summary = salonRatingAggregate.get(salonId);
+        return RatingSummaryDto.builder()
+                .salonId(salonId)
+                .reviewCount(summary.count())
+                .averageRating(summary.average())
+                .histogram(summary.histogram())
+                .build();
+    }
+
+    private void onRatingChanged(Long salonId, Double before, Double after) {
+        salonRatingAggregate.record(salonId, before, after);
+        salonCatalogCache.invalidate(salonId);
     }
 
     private ReviewDto mapToDto(Review review) {
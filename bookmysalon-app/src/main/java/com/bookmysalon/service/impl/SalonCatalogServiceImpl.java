@@ -0,0 +1,75 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.impl;
+
+import com.bookmysalon.dto.catalog.SalonCatalogDto;
+import com.bookmysalon.dto.response.ApiResponse;
+import com.bookmysalon.exception.SalonNotFoundException;
+import com.bookmysalon.service.CategoryService;
+import com.bookmysalon.service.SalonCatalogService;
+import com.bookmysalon.service.SalonService;
+import com.bookmysalon.service.ServiceOfferingService;
+import com.bookmysalon.service.catalog.SalonCatalogCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Serves a salon's catalog from the cached snapshot. No transaction wraps the lookup, so a hit never
+ * borrows a connection; a miss reads through the regular services and stores the serialized response.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalonCatalogServiceImpl implements SalonCatalogService {
+
+    private final SalonService salonService;
+    private final CategoryService categoryService;
+    private final ServiceOfferingService serviceOfferingService;
+    private final SalonCatalogCache salonCatalogCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public SalonCatalogCache.Snapshot getCatalog(Long salonId) {
+        SalonCatalogCache.Snapshot cached = salonCatalogCache.get(salonId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = salonCatalogCache.currentVersion(salonId);
+        SalonCatalogDto catalog;
+        try {
+            catalog = SalonCatalogDto.builder()
+                    .salon(salonService.getSalonById(salonId))
+                    .categories(categoryService.getCategoriesBySalonId(salonId))
+                    .serviceOfferings(serviceOfferingService.getServiceOfferingsBySalonId(salonId))
+                    .build();
+        } catch (SalonNotFoundException e) {
+            salonCatalogCache.abandon(salonId, version);
+            throw e;
+        }
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(ApiResponse.<SalonCatalogDto>builder()
+                    .success(true)
+                    .data(catalog)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize catalog of salon " + salonId, e);
+        }
+
+        SalonCatalogCache.Snapshot snapshot = new SalonCatalogCache.Snapshot(
+                salonId,
+                version,
+                "\"" + DigestUtils.md5DigestAsHex(json) + "\"",
+                json
+        );
+        salonCatalogCache.put(snapshot);
+        return snapshot;
+    }
+}
@@ -6,18 +6,25 @@
 package com.bookmysalon.service.impl;
 
 import com.bookmysalon.dto.SalonDto;
+import com.bookmysalon.dto.response.CursorPage;
 import com.bookmysalon.entity.Salon;
 import com.bookmysalon.exception.SalonNotFoundException;
 import com.bookmysalon.repository.SalonRepository;
 import com.bookmysalon.service.SalonService;
+import com.bookmysalon.service.catalog.SalonCatalogCache;
+import com.bookmysalon.service.pagination.DistanceCursor;
+import com.bookmysalon.service.pagination.KeysetCursor;
+import com.bookmysalon.service.review.SalonRatingAggregate;
+import com.bookmysalon.service.salon.SalonGeoIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,9 +32,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class SalonServiceImpl implements SalonService {
 
-    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double MAX_RADIUS_KM = 200;
+    private static final int MAX_NEAREST = 50;
 
     private final SalonRepository salonRepository;
+    private final SalonGeoIndex salonGeoIndex;
+    private final SalonCatalogCache salonCatalogCache;
+    private final SalonRatingAggregate salonRatingAggregate;
 
     @Override
     public SalonDto createSalon(SalonDto salonDto) {
@@ -70,6 +81,7 @@ public class SalonServiceImpl implements SalonService {
 
         try {
             Salon savedSalon = salonRepository.save(salon);
+            salonGeoIndex.index(savedSalon.getId(), savedSalon.getLatitude(), savedSalon.getLongitude());
             return mapToDto(savedSalon);
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalArgumentException("This salon email is already in use. Use a different email.");
@@ -85,23 +97,17 @@ public class SalonServiceImpl implements SalonService {
 
     @Override
     public List<SalonDto> getAllSalons() {
-        return salonRepository.findAll().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapAll(salonRepository.findAll());
     }
 
     @Override
     public List<SalonDto> getSalonsByOwnerId(Long ownerId) {
-        return salonRepository.findByOwnerId(ownerId).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapAll(salonRepository.findByOwnerId(ownerId));
     }
 
     @Override
     public List<SalonDto> getSalonsByCity(String city) {
-        return salonRepository.findByCity(city).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return mapAll(salonRepository.findByCity(city));
     }
 
     @Override
@@ -109,12 +115,35 @@ public class SalonServiceImpl implements SalonService {
         validateCoordinates(latitude, longitude);
         validateRadius(radiusKm);
 
-        return salonRepository.findByLatitudeIsNotNullAndLongitudeIsNotNull().stream()
-                .map(salon -> new SalonDistance(salon, haversineDistanceKm(latitude, longitude, salon.getLatitude(), salon.getLongitude())))
-                .filter(salonDistance -> salonDistance.distanceKm <= radiusKm)
-                .sorted(Comparator.comparingDouble(salonDistance -> salonDistance.distanceKm))
-                .map(salonDistance -> mapToDto(salonDistance.salon, roundDistance(salonDistance.distanceKm)))
-                .collect(Collectors.toList());
+        return mapHits(salonGeoIndex.within(latitude, longitude, radiusKm));
+    }
+
+    @Override
+    public CursorPage<SalonDto> getSalonsNearLocationPage(double latitude, double longitude, double radiusKm, String cursor, Integer limit) {
+        validateCoordinates(latitude, longitude);
+        validateRadius(radiusKm);
+        int pageSize = KeysetCursor.clampLimit(limit);
+
+        List<SalonGeoIndex.Hit> hits = salonGeoIndex.closest(latitude, longitude, radiusKm, DistanceCursor.decode(cursor), pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        List<SalonGeoIndex.Hit> pageHits = hasMore ? hits.subList(0, pageSize) : hits;
+        SalonGeoIndex.Hit last = pageHits.isEmpty() ? null : pageHits.get(pageHits.size() - 1);
+
+        return CursorPage.<SalonDto>builder()
+                .items(mapHits(pageHits))
+                .nextCursor(hasMore ? new DistanceCursor(last.distanceKm(), last.salonId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    public List<SalonDto> getNearestSalons(double latitude, double longitude, int limit) {
+        validateCoordinates(latitude, longitude);
+        if (limit < 1 || limit > MAX_NEAREST) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_NEAREST);
+        }
+
+        return mapHits(salonGeoIndex.nearest(latitude, longitude, limit, MAX_RADIUS_KM));
     }
 
     @Override
@@ -146,6 +175,8 @@ public class SalonServiceImpl implements SalonService {
 
         try {
             Salon updatedSalon = salonRepository.save(salon);
+            salonGeoIndex.index(updatedSalon.getId(), updatedSalon.getLatitude(), updatedSalon.getLongitude());
+            salonCatalogCache.invalidate(updatedSalon.getId());
             return mapToDto(updatedSalon);
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalArgumentException("This salon email is already in use. Use a different email.");
@@ -158,13 +189,42 @@ public class SalonServiceImpl implements SalonService {
             throw new SalonNotFoundException("Salon not found with id: " + id);
         }
         salonRepository.deleteById(id);
+        salonGeoIndex.remove(id);
+        salonCatalogCache.invalidate(id);
+    }
+
+    private List<SalonDto> mapHits(List<SalonGeoIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> salonIds = hits.stream().map(SalonGeoIndex.Hit::salonId).toList();
+        Map<Long, Salon> salonsById = salonRepository.findAllById(salonIds)
+                .stream()
+                .collect(Collectors.toMap(Salon::getId, Function.identity()));
+        Map<Long, SalonRatingAggregate.Summary> ratings = salonRatingAggregate.getAll(salonIds);
+
+        List<SalonDto> result = new ArrayList<>(hits.size());
+        for (SalonGeoIndex.Hit hit : hits) {
+            Salon salon = salonsById.get(hit.salonId());
+            if (salon != null) {
+                result.add(mapToDto(salon, roundDistance(hit.distanceKm()), ratings.get(salon.getId())));
+            }
+        }
+        return result;
+    }
+
+    private List<SalonDto> mapAll(List<Salon> salons) {
+        Map<Long, SalonRatingAggregate.Summary> ratings = salonRatingAggregate.getAll(salons.stream().map(Salon::getId).toList());
+        return salons.stream()
+                .map(salon -> mapToDto(salon, null, ratings.get(salon.getId())))
+                .collect(Collectors.toList());
     }
 
     private SalonDto mapToDto(Salon salon) {
-        return mapToDto(salon, null);
+        return mapToDto(salon, null, salonRatingAggregate.get(salon.getId()));
     }
 
-    private SalonDto mapToDto(Salon salon, Double distanceKm) {
+    private SalonDto mapToDto(Salon salon, Double distanceKm, SalonRatingAggregate.Summary rating) {
         List<String> safeImages = salon.getImages() == null
                 ? new ArrayList<>()
                 : new ArrayList<>(salon.getImages());
@@ -183,6 +243,8 @@ public class SalonServiceImpl implements SalonService {
                 .openTime(salon.getOpenTime())
                 .closeTime(salon.getCloseTime())
                 .distanceKm(distanceKm)
+                .averageRating(rating == null ? 0.0 : rating.average())
+                .reviewCount(rating == null ? 0L : rating.count())
                 .build();
     }
 
@@ -199,7 +261,7 @@ public class SalonServiceImpl implements SalonService {
     }
 
     private void validateRadius(double radiusKm) {
-        if (radiusKm <= 0 || radiusKm > 200) {
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
             throw new IllegalArgumentException("Radius must be between 0 and 200 km");
         }
     }
@@ -220,28 +282,7 @@ public class SalonServiceImpl implements SalonService {
         throw new IllegalArgumentException("This salon email is already in use. Use a different email.");
     }
 
-    private double haversineDistanceKm(double lat1, double lon1, double lat2, double lon2) {
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return EARTH_RADIUS_KM * c;
-    }
-
     private double roundDistance(double distanceKm) {
         return Math.round(distanceKm * 100.0) / 100.0;
     }
-
-    private static class SalonDistance {
-        private final Salon salon;
-        private final double distanceKm;
-
-        private SalonDistance(Salon salon, double distanceKm) {
-            this.salon = salon;
-            this.distanceKm = distanceKm;
-        }
-    }
 }
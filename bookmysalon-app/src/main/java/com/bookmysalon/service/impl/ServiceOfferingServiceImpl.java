@@ -10,6 +10,8 @@ import com.bookmysalon.entity.ServiceOffering;
 import com.bookmysalon.exception.CategoryNotFoundException;
 import com.bookmysalon.repository.ServiceOfferingRepository;
 import com.bookmysalon.service.ServiceOfferingService;
+import com.bookmysalon.service.booking.SalonPriceTable;
+import com.bookmysalon.service.catalog.SalonCatalogCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +25,8 @@ import java.util.stream.Collectors;
 public class ServiceOfferingServiceImpl implements ServiceOfferingService {
 
     private final ServiceOfferingRepository serviceOfferingRepository;
+    private final SalonPriceTable salonPriceTable;
+    private final SalonCatalogCache salonCatalogCache;
 
     @Override
     public ServiceOfferingDto createServiceOffering(ServiceOfferingDto serviceOfferingDto) {
@@ -54,6 +58,8 @@ public class ServiceOfferingServiceImpl implements ServiceOfferingService {
         serviceOffering.setCategoryId(serviceOfferingDto.getCategoryId());
 
         ServiceOffering savedServiceOffering = serviceOfferingRepository.save(serviceOffering);
+        salonPriceTable.invalidate(savedServiceOffering.getSalonId());
+        salonCatalogCache.invalidate(savedServiceOffering.getSalonId());
         return mapToDto(savedServiceOffering);
     }
 
@@ -97,15 +103,18 @@ public class ServiceOfferingServiceImpl implements ServiceOfferingService {
         if (serviceOfferingDto.getCategoryId() != null) serviceOffering.setCategoryId(serviceOfferingDto.getCategoryId());
 
         ServiceOffering updatedServiceOffering = serviceOfferingRepository.save(serviceOffering);
+        salonPriceTable.invalidate(updatedServiceOffering.getSalonId());
+        salonCatalogCache.invalidate(updatedServiceOffering.getSalonId());
         return mapToDto(updatedServiceOffering);
     }
 
     @Override
     public void deleteServiceOffering(Long id) {
-        if (!serviceOfferingRepository.existsById(id)) {
-            throw new CategoryNotFoundException("Service offering not found with id: " + id);
-        }
-        serviceOfferingRepository.deleteById(id);
+        ServiceOffering serviceOffering = serviceOfferingRepository.findById(id)
+                .orElseThrow(() -> new CategoryNotFoundException("Service offering not found with id: " + id));
+        serviceOfferingRepository.delete(serviceOffering);
+        salonPriceTable.invalidate(serviceOffering.getSalonId());
+        salonCatalogCache.invalidate(serviceOffering.getSalonId());
     }
 
     private ServiceOfferingDto mapToDto(ServiceOffering serviceOffering) {
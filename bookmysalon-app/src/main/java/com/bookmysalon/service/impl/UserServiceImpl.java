@@ -14,8 +14,11 @@ import com.bookmysalon.entity.User;
 import com.bookmysalon.entity.UserRole;
 import com.bookmysalon.exception.UserNotFoundException;
 import com.bookmysalon.repository.UserRepository;
+import com.bookmysalon.security.TokenRevocationList;
+import com.bookmysalon.security.UserChangedEvent;
 import com.bookmysalon.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +30,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationList tokenRevocationList;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDto createUser(SignupDto signupDto) {
@@ -89,6 +94,7 @@ public class UserServiceImpl implements UserService {
         if (userDto.getPhone() != null) user.setPhone(userDto.getPhone());
 
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
         return mapToDto(updatedUser);
     }
 
@@ -98,6 +104,8 @@ public class UserServiceImpl implements UserService {
             throw new UserNotFoundException("User not found with id: " + id);
         }
         userRepository.deleteById(id);
+        tokenRevocationList.revokeUser(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     @Override
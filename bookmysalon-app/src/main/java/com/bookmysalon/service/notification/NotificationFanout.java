@@ -0,0 +1,291 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.notification;
+
+import com.bookmysalon.dto.NotificationDto;
+import com.bookmysalon.entity.Notification;
+import com.bookmysalon.entity.Salon;
+import com.bookmysalon.repository.SalonRepository;
+import com.bookmysalon.service.outbox.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers notifications until the originating transaction commits, then writes them in JDBC
+ * batches on a single worker thread and pushes them over STOMP once the batch has committed.
+ * When the queue is full the caller writes its own notification, so nothing is dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationFanout {
+
+    private static final String INSERT_SQL = "INSERT INTO notifications"
+            + " (type, description, was_read, user_id, booking_id, conversation_id, message_id, created_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final SalonRepository salonRepository;
+    private final OutboxService outboxService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.fanout.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.notifications.fanout.batch-size:200}")
+    private int batchSize;
+
+    private TransactionTemplate transactionTemplate;
+    private BlockingQueue<Pending> queue;
+    private Thread worker;
+    private volatile boolean running;
+    private Counter rejected;
+    private Counter failed;
+    private Counter delivered;
+    private Timer lag;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("notifications.fanout.queue.depth", queue, BlockingQueue::size)
+                .description("Notifications waiting to be written")
+                .register(meterRegistry);
+        rejected = meterRegistry.counter("notifications.fanout.rejected");
+        failed = meterRegistry.counter("notifications.fanout.failed");
+        delivered = meterRegistry.counter("notifications.fanout.delivered");
+        lag = Timer.builder("notifications.fanout.lag")
+                .description("Time from commit of the originating transaction to the STOMP push")
+                .register(meterRegistry);
+
+        running = true;
+        worker = new Thread(this::drain, "notification-fanout");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queues the notification once the current transaction commits; discarded on rollback.
+     */
+    public void submit(NotificationRequest request) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(request);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(request);
+            }
+        });
+    }
+
+    private void enqueue(NotificationRequest request) {
+        Pending pending = new Pending(request, System.nanoTime());
+        if (queue.offer(pending)) {
+            return;
+        }
+        rejected.increment();
+        log.warn("Notification fan-out queue is full ({}), writing inline", queueCapacity);
+        flush(List.of(pending));
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (running) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        try {
+            List<Row> rows = resolveRecipients(batch);
+            if (rows.isEmpty()) {
+                return;
+            }
+            List<NotificationDto> saved = transactionTemplate.execute(status -> insert(rows));
+            for (int i = 0; i < rows.size(); i++) {
+                NotificationDto dto = saved.get(i);
+                try {
+                    messagingTemplate.convertAndSendToUser(String.valueOf(dto.getUserId()), "/queue/notifications", dto);
+                    delivered.increment();
+                } catch (Exception e) {
+                    log.warn("Failed to push notification {} to user {}: {}", dto.getId(), dto.getUserId(), e.getMessage());
+                }
+                lag.record(System.nanoTime() - rows.get(i).enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.error("Failed to write {} notifications", batch.size(), e);
+        }
+    }
+
+    private List<Row> resolveRecipients(List<Pending> batch) {
+        Set<Long> salonIds = new HashSet<>();
+        for (Pending pending : batch) {
+            if (pending.request().ownerOfSalonId() != null) {
+                salonIds.add(pending.request().ownerOfSalonId());
+            }
+        }
+        Map<Long, Long> ownerBySalon = new HashMap<>();
+        if (!salonIds.isEmpty()) {
+            for (Salon salon : salonRepository.findAllById(salonIds)) {
+                if (salon.getOwnerId() != null) {
+                    ownerBySalon.put(salon.getId(), salon.getOwnerId());
+                }
+            }
+        }
+
+        List<Row> rows = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            NotificationRequest request = pending.request();
+            Long userId = request.ownerOfSalonId() == null
+                    ? request.userId()
+                    : ownerBySalon.get(request.ownerOfSalonId());
+            if (userId == null || userId.equals(request.skipUserId())) {
+                continue;
+            }
+            rows.add(new Row(userId, request, pending.enqueuedAtNanos()));
+        }
+        return rows;
+    }
+
+    private List<NotificationDto> insert(List<Row> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        Calendar utc = Calendar.getInstance(UTC);
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Row row = rows.get(i);
+                        ps.setString(1, row.request().type().name());
+                        ps.setString(2, row.request().description());
+                        ps.setBoolean(3, false);
+                        ps.setLong(4, row.userId());
+                        setNullableLong(ps, 5, row.request().bookingId());
+                        setNullableLong(ps, 6, row.request().conversationId());
+                        setNullableLong(ps, 7, row.request().messageId());
+                        ps.setTimestamp(8, createdAt, utc);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder
+        );
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<NotificationDto> saved = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            Long id = ((Number) keys.get(i).values().iterator().next()).longValue();
+
+            Notification notification = new Notification();
+            notification.setId(id);
+            notification.setUserId(row.userId());
+            notification.setType(row.request().type());
+            notification.setDescription(row.request().description());
+            notification.setWasRead(false);
+            notification.setBookingId(row.request().bookingId());
+            notification.setConversationId(row.request().conversationId());
+            notification.setMessageId(row.request().messageId());
+            notification.setCreatedAt(now);
+            outboxService.recordNotificationEvent("notification.created", notification);
+
+            saved.add(NotificationDto.builder()
+                    .id(id)
+                    .type(row.request().type().name())
+                    .description(row.request().description())
+                    .wasRead(false)
+                    .userId(row.userId())
+                    .bookingId(row.request().bookingId())
+                    .conversationId(row.request().conversationId())
+                    .messageId(row.request().messageId())
+                    .createdAt(now)
+                    .build());
+        }
+        return saved;
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private record Pending(NotificationRequest request, long enqueuedAtNanos) {
+    }
+
+    private record Row(Long userId, NotificationRequest request, long enqueuedAtNanos) {
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.notification;
+
+import com.bookmysalon.entity.NotificationType;
+
+/**
+ * A notification waiting to be written and pushed. The recipient is either a user id or
+ * the owner of {@code ownerOfSalonId}, resolved by the fan-out worker; {@code skipUserId}
+ * suppresses the owner copy when the owner is that user.
+ */
+public record NotificationRequest(Long userId,
+                                  Long ownerOfSalonId,
+                                  Long skipUserId,
+                                  NotificationType type,
+                                  String description,
+                                  Long bookingId,
+                                  Long conversationId,
+                                  Long messageId) {
+
+    public static NotificationRequest toUser(Long userId, NotificationType type, String description, Long bookingId) {
+        return new NotificationRequest(userId, null, null, type, description, bookingId, null, null);
+    }
+
+    public static NotificationRequest toSalonOwner(Long salonId, Long skipUserId, NotificationType type, String description, Long bookingId) {
+        return new NotificationRequest(null, salonId, skipUserId, type, description, bookingId, null, null);
+    }
+}
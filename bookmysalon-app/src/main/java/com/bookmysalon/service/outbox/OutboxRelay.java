@@ -0,0 +1,159 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.outbox;
+
+import com.bookmysalon.entity.OutboxEvent;
+import com.bookmysalon.entity.OutboxStatus;
+import com.bookmysalon.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publishes pending outbox rows in id order. Each batch is sent on one channel and
+ * confirmed by the broker before the rows are marked sent, so delivery is at-least-once.
+ * If a batch fails, its rows are retried one by one so a single bad event cannot hold back the rest;
+ * a failing row backs off exponentially and is marked FAILED after {@code max-attempts}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    @Value("${app.outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${app.outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.relay.backoff-initial-ms:1000}")
+    private long backoffInitialMs;
+
+    @Value("${app.outbox.relay.backoff-max-ms:300000}")
+    private long backoffMaxMs;
+
+    @Value("${app.outbox.retention-hours:168}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:1000}")
+    @Transactional
+    public void relay() {
+        List<OutboxEvent> batch = outboxEventRepository.lockBatch(
+                OutboxStatus.PENDING,
+                LocalDateTime.now(),
+                PageRequest.of(0, batchSize)
+        );
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            publish(batch);
+            markSent(batch);
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                recordFailure(batch.get(0), e);
+                return;
+            }
+            log.warn("Outbox relay failed for {} events starting at id {}, retrying them one by one: {}",
+                    batch.size(), batch.get(0).getId(), describe(e));
+        }
+
+        for (OutboxEvent event : batch) {
+            try {
+                publish(List.of(event));
+                markSent(List.of(event));
+            } catch (RuntimeException e) {
+                recordFailure(event, e);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 15 * * * *}")
+    @Transactional
+    public void purgeSent() {
+        int deleted = outboxEventRepository.deleteByStatusAndSentAtBefore(
+                OutboxStatus.SENT,
+                LocalDateTime.now().minusHours(retentionHours)
+        );
+        if (deleted > 0) {
+            log.info("Purged {} sent outbox events", deleted);
+        }
+    }
+
+    private void publish(List<OutboxEvent> events) {
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : events) {
+                operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
+    }
+
+    private void markSent(List<OutboxEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : events) {
+            event.setStatus(OutboxStatus.SENT);
+            event.setSentAt(now);
+            event.setLastError(null);
+            event.setNextAttemptAt(null);
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException e) {
+        String error = describe(e);
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxStatus.FAILED);
+            event.setNextAttemptAt(null);
+            log.error("Outbox event {} failed after {} attempts and will not be retried: {}", event.getId(), attempts, error);
+            return;
+        }
+        long backoffMs = backoffInitialMs << Math.min(attempts - 1, 30);
+        event.setNextAttemptAt(LocalDateTime.now().plusNanos(Math.min(backoffMs, backoffMaxMs) * 1_000_000L));
+        log.warn("Outbox event {} failed on attempt {}: {}", event.getId(), attempts, error);
+    }
+
+    private static String describe(RuntimeException e) {
+        return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId("outbox-" + event.getId())
+                .setType(event.getEventType())
+                .setHeader("aggregateType", event.getAggregateType())
+                .setHeader("aggregateId", event.getAggregateId())
+                .setDeliveryMode(MessageProperties.DEFAULT_DELIVERY_MODE)
+                .build();
+    }
+}
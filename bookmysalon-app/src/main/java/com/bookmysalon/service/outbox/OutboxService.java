@@ -0,0 +1,95 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.outbox;
+
+import com.bookmysalon.config.RabbitMqConfig;
+import com.bookmysalon.entity.Booking;
+import com.bookmysalon.entity.Notification;
+import com.bookmysalon.entity.OutboxEvent;
+import com.bookmysalon.entity.OutboxStatus;
+import com.bookmysalon.entity.PaymentOrder;
+import com.bookmysalon.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records domain events in the outbox table inside the caller's transaction.
+ * {@link OutboxRelay} publishes them once the transaction has committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public void recordBookingEvent(String eventType, Booking booking) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", booking.getId());
+        payload.put("salonId", booking.getSalonId());
+        payload.put("customerId", booking.getCustomerId());
+        payload.put("startTime", booking.getStartTime());
+        payload.put("endTime", booking.getEndTime());
+        payload.put("status", booking.getStatus());
+        payload.put("totalPrice", booking.getTotalPrice());
+        record("BOOKING", booking.getId(), eventType,
+                RabbitMqConfig.BOOKING_EXCHANGE, RabbitMqConfig.BOOKING_ROUTING_KEY, payload);
+    }
+
+    public void recordPaymentEvent(String eventType, PaymentOrder paymentOrder) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("paymentId", paymentOrder.getId());
+        payload.put("bookingId", paymentOrder.getBookingId());
+        payload.put("userId", paymentOrder.getUserId());
+        payload.put("amount", paymentOrder.getAmount());
+        payload.put("status", paymentOrder.getStatus());
+        payload.put("paymentLinkId", paymentOrder.getPaymentLinkId());
+        record("PAYMENT", paymentOrder.getId(), eventType,
+                RabbitMqConfig.PAYMENT_EXCHANGE, RabbitMqConfig.PAYMENT_ROUTING_KEY, payload);
+    }
+
+    public void recordNotificationEvent(String eventType, Notification notification) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("notificationId", notification.getId());
+        payload.put("userId", notification.getUserId());
+        payload.put("type", notification.getType());
+        payload.put("description", notification.getDescription());
+        payload.put("bookingId", notification.getBookingId());
+        payload.put("conversationId", notification.getConversationId());
+        payload.put("messageId", notification.getMessageId());
+        record("NOTIFICATION", notification.getId(), eventType,
+                RabbitMqConfig.NOTIFICATION_EXCHANGE, RabbitMqConfig.NOTIFICATION_ROUTING_KEY, payload);
+    }
+
+    private void record(String aggregateType,
+                        Long aggregateId,
+                        String eventType,
+                        String exchange,
+                        String routingKey,
+                        Map<String, Object> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        event.setExchange(exchange);
+        event.setRoutingKey(routingKey);
+        event.setStatus(OutboxStatus.PENDING);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event", e);
+        }
+        outboxEventRepository.save(event);
+    }
+}
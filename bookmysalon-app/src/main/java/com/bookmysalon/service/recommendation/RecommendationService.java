@@ -6,6 +6,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -19,20 +20,27 @@ public class RecommendationService {
      */
     public List<RecommendationDto> recommendSalons(Long userId, Double lat, Double lng, int limit) {
         // 1) get user's top service ids
-        String sqlUserServices = "SELECT service_offering_id, COUNT(*) as cnt FROM bookings WHERE user_id = ? AND status='CONFIRMED' GROUP BY service_offering_id ORDER BY cnt DESC LIMIT 10";
+        String sqlUserServices = "SELECT o.service_offering_id, COUNT(*) AS cnt FROM bookings b " +
+                "JOIN booking_service_offerings o ON o.booking_id = b.id " +
+                "WHERE b.customer_id = ? AND b.status = 'CONFIRMED' " +
+                "GROUP BY o.service_offering_id ORDER BY cnt DESC LIMIT 10";
         List<Map<String, Object>> userServices = jdbc.queryForList(sqlUserServices, userId);
-        List<Long> topServiceIds = new ArrayList<>();
-        for (Map<String, Object> r : userServices) topServiceIds.add(((Number) r.get("service_offering_id")).longValue());
+        List<Object> params = new ArrayList<>();
+        for (Map<String, Object> r : userServices) params.add(((Number) r.get("service_offering_id")).longValue());
+        if (params.isEmpty()) {
+            return List.of();
+        }
 
         // 2) score salons by how many of these services they offer and their average rating
-        String sql = "SELECT s.id AS salon_id, s.name AS salon_name, COALESCE(avg(r.rating),0) AS avg_rating, COUNT(so.id) AS match_count " +
-                "FROM salon s " +
-                "LEFT JOIN service_offering so ON so.salon_id = s.id " +
-                "LEFT JOIN reviews r ON r.salon_id = s.id " +
-                "WHERE so.id IN (" + (topServiceIds.isEmpty() ? "0" : topServiceIds.stream().map(Object::toString).reduce((a,b)->a+","+b).orElse("0")) + ") " +
+        String sql = "SELECT s.id AS salon_id, s.name AS salon_name, COALESCE(MAX(sr.rating_sum / NULLIF(sr.rating_count, 0)),0) AS avg_rating, COUNT(so.id) AS match_count " +
+                "FROM salons s " +
+                "JOIN service_offerings so ON so.salon_id = s.id " +
+                "LEFT JOIN salon_ratings sr ON sr.salon_id = s.id " +
+                "WHERE so.id IN (" + String.join(",", Collections.nCopies(params.size(), "?")) + ") " +
                 "GROUP BY s.id, s.name ORDER BY match_count DESC, avg_rating DESC LIMIT ?";
+        params.add(limit);
 
-        List<Map<String, Object>> rows = jdbc.queryForList(sql, limit);
+        List<Map<String, Object>> rows = jdbc.queryForList(sql, params.toArray());
         List<RecommendationDto> out = new ArrayList<>();
         for (Map<String, Object> r : rows) {
             RecommendationDto dto = RecommendationDto.builder()
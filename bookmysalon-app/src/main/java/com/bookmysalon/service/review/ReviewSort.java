@@ -0,0 +1,23 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.review;
+
+public enum ReviewSort {
+    NEWEST,
+    HIGHEST,
+    LOWEST;
+
+    public static ReviewSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Sort must be one of newest, highest, lowest");
+        }
+    }
+}
@@ -0,0 +1,294 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.review;
+
+import com.bookmysalon.repository.RollupLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-salon review count, rating sum and 1-5 star histogram in salon_ratings.
+ * Review writes apply their delta as one upsert in the same transaction; reads go through a size-bounded
+ * LRU whose entries expire after a short TTL so other nodes' writes show up without coordination.
+ */
+@Slf4j
+@Component
+public class SalonRatingAggregate {
+
+    private static final String UPSERT = "INSERT INTO salon_ratings"
+            + " (salon_id, rating_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE rating_count = rating_count + ?, rating_sum = rating_sum + ?,"
+            + " stars_1 = stars_1 + ?, stars_2 = stars_2 + ?, stars_3 = stars_3 + ?, stars_4 = stars_4 + ?, stars_5 = stars_5 + ?";
+    private static final String SELECT = "SELECT salon_id, rating_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5"
+            + " FROM salon_ratings WHERE salon_id IN (%s)";
+    private static final String LOCK_NAME = "salon_ratings";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RollupLockRepository rollupLockRepository;
+    private final TransactionTemplate rebuildTransaction;
+
+    @Value("${app.reviews.rating-cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${app.reviews.rating-cache-ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    private final Map<Long, Cached> cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+            return size() > cacheSize;
+        }
+    });
+
+    public SalonRatingAggregate(JdbcTemplate jdbcTemplate,
+                                RollupLockRepository rollupLockRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupLockRepository = rollupLockRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Moves one review of the salon from rating {@code before} to rating {@code after}; either may be {@code null}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long salonId, Double before, Double after) {
+        if (before == null ? after == null : before.equals(after)) {
+            return;
+        }
+        long[] stars = new long[5];
+        long count = 0;
+        double sum = 0;
+        if (before != null) {
+            stars[bucket(before)]--;
+            count--;
+            sum -= before;
+        }
+        if (after != null) {
+            stars[bucket(after)]++;
+            count++;
+            sum += after;
+        }
+
+        jdbcTemplate.update(UPSERT,
+                salonId, count, sum, stars[0], stars[1], stars[2], stars[3], stars[4],
+                count, sum, stars[0], stars[1], stars[2], stars[3], stars[4]);
+        evictAfterCompletion(salonId);
+    }
+
+    public Summary get(Long salonId) {
+        return getAll(List.of(salonId)).get(salonId);
+    }
+
+    /**
+     * Summaries for every requested salon, loading all cache misses with a single query.
+     */
+    public Map<Long, Summary> getAll(Collection<Long> salonIds) {
+        Map<Long, Summary> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Long salonId : salonIds) {
+            Cached cached = cache.get(salonId);
+            if (cached != null && cached.expiresAtEpochMs() > now) {
+                result.put(salonId, cached.summary());
+            } else if (salonId != null) {
+                misses.add(salonId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, Summary> loaded = new HashMap<>();
+        jdbcTemplate.query(SELECT.formatted(String.join(",", Collections.nCopies(misses.size(), "?"))),
+                rs -> {
+                    Summary summary = map(rs);
+                    loaded.put(summary.salonId(), summary);
+                },
+                misses.toArray());
+        long expiresAt = now + cacheTtlSeconds * 1000;
+        for (Long salonId : misses) {
+            Summary summary = loaded.getOrDefault(salonId, Summary.empty(salonId));
+            cache.put(salonId, new Cached(summary, expiresAt));
+            result.put(salonId, summary);
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds salon_ratings from the reviews table. Rebuilds are serialized across nodes by the rollup_locks
+     * row; reviews and the current aggregates are read from one snapshot and only the difference is written
+     * as additive upserts, so {@link #record} deltas committed meanwhile are kept.
+     */
+    public void backfill() {
+        rebuildTransaction.executeWithoutResult(status -> rebuild(false));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Integer ratings = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM salon_ratings", Integer.class);
+        Integer reviews = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reviews", Integer.class);
+        if (ratings != null && ratings == 0 && reviews != null && reviews > 0) {
+            rebuildTransaction.executeWithoutResult(status -> rebuild(true));
+        }
+    }
+
+    private void rebuild(boolean onlyIfEmpty) {
+        rollupLockRepository.ensure(LOCK_NAME);
+        rollupLockRepository.lock(LOCK_NAME);
+        if (onlyIfEmpty && jdbcTemplate.queryForObject("SELECT COUNT(*) FROM salon_ratings", Integer.class) > 0) {
+            return;
+        }
+
+        Map<Long, Correction> corrections = new HashMap<>();
+        jdbcTemplate.query("SELECT salon_id, COUNT(*) AS rating_count, SUM(rating) AS rating_sum,"
+                        + " SUM(CASE WHEN ROUND(rating) <= 1 THEN 1 ELSE 0 END) AS stars_1,"
+                        + " SUM(CASE WHEN ROUND(rating) = 2 THEN 1 ELSE 0 END) AS stars_2,"
+                        + " SUM(CASE WHEN ROUND(rating) = 3 THEN 1 ELSE 0 END) AS stars_3,"
+                        + " SUM(CASE WHEN ROUND(rating) = 4 THEN 1 ELSE 0 END) AS stars_4,"
+                        + " SUM(CASE WHEN ROUND(rating) >= 5 THEN 1 ELSE 0 END) AS stars_5"
+                        + " FROM reviews GROUP BY salon_id",
+                rs -> {
+                    Summary target = map(rs);
+                    corrections.computeIfAbsent(target.salonId(), id -> new Correction()).add(target, 1);
+                });
+        jdbcTemplate.query("SELECT salon_id, rating_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5 FROM salon_ratings",
+                rs -> {
+                    Summary current = map(rs);
+                    corrections.computeIfAbsent(current.salonId(), id -> new Correction()).add(current, -1);
+                });
+
+        List<Object[]> rows = new ArrayList<>();
+        corrections.forEach((salonId, correction) -> {
+            if (!correction.isZero()) {
+                long[] stars = correction.stars;
+                rows.add(new Object[]{
+                        salonId, correction.count, correction.sum, stars[0], stars[1], stars[2], stars[3], stars[4],
+                        correction.count, correction.sum, stars[0], stars[1], stars[2], stars[3], stars[4]
+                });
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        }
+        cache.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.clear();
+                }
+            });
+        }
+        log.info("Backfilled salon_ratings with corrections for {} of {} salons", rows.size(), corrections.size());
+    }
+
+    private void evictAfterCompletion(Long salonId) {
+        cache.remove(salonId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.remove(salonId);
+                }
+            });
+        }
+    }
+
+    private static int bucket(double rating) {
+        return (int) Math.min(5, Math.max(1, Math.round(rating))) - 1;
+    }
+
+    private static Summary map(ResultSet rs) throws SQLException {
+        return new Summary(
+                rs.getLong("salon_id"),
+                rs.getLong("rating_count"),
+                rs.getDouble("rating_sum"),
+                new long[]{
+                        rs.getLong("stars_1"),
+                        rs.getLong("stars_2"),
+                        rs.getLong("stars_3"),
+                        rs.getLong("stars_4"),
+                        rs.getLong("stars_5")
+                }
+        );
+    }
+
+    private record Cached(Summary summary, long expiresAtEpochMs) {
+    }
+
+    private static final class Correction {
+        private long count;
+        private double sum;
+        private final long[] stars = new long[5];
+
+        void add(Summary summary, int sign) {
+            count += sign * summary.count();
+            sum += sign * summary.sum();
+            for (int i = 0; i < stars.length; i++) {
+                stars[i] += sign * summary.stars()[i];
+            }
+        }
+
+        boolean isZero() {
+            if (count != 0 || Math.abs(sum) > 1e-9) {
+                return false;
+            }
+            for (long star : stars) {
+                if (star != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * {@code stars[i]} counts the reviews rounded to {@code i + 1} stars.
+     */
+    public record Summary(long salonId, long count, double sum, long[] stars) {
+
+        static Summary empty(long salonId) {
+            return new Summary(salonId, 0, 0, new long[5]);
+        }
+
+        public double average() {
+            return count == 0 ? 0.0 : Math.round(sum / count * 100.0) / 100.0;
+        }
+
+        public Map<Integer, Long> histogram() {
+            Map<Integer, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < stars.length; i++) {
+                histogram.put(i + 1, stars[i]);
+            }
+            return histogram;
+        }
+    }
+}
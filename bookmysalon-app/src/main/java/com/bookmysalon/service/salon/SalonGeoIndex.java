@@ -0,0 +1,414 @@
+/**
+ * @author Prahlad Yadav
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package com.bookmysalon.service.salon;
+
+import com.bookmysalon.repository.SalonRepository;
+import com.bookmysalon.service.pagination.DistanceCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory uniform lat/lng grid of geolocated salons.
+ * Each {@value #CELL_DEGREES}-degree cell keeps ids and coordinates in parallel primitive arrays, so a radius
+ * query only measures the salons in the cells covering the query's bounding box. Writes are applied after
+ * commit and the whole grid is reloaded periodically to pick up changes made by other nodes.
+ * With the grid disabled the same bounding box is pushed into SQL instead, so the lat/lng index narrows the rows.
+ * Either way only the closest requested salons are kept, in a bounded heap.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalonGeoIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final double CELL_DEGREES = 0.1;
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LNG_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final Comparator<Hit> NEAREST_FIRST = Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(Hit::salonId);
+
+    private final SalonRepository salonRepository;
+
+    @Value("${app.salon.geo-index.enabled:true}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Grid grid;
+    private List<GridAction> replay;
+
+    /**
+     * Salons within {@code radiusKm} of the point, nearest first.
+     */
+    public List<Hit> within(double latitude, double longitude, double radiusKm) {
+        List<Hit> hits = new ArrayList<>();
+        forEachWithin(latitude, longitude, radiusKm, hits::add);
+        hits.sort(NEAREST_FIRST);
+        return hits;
+    }
+
+    /**
+     * Up to {@code limit} salons within {@code radiusKm} that sort after {@code after}, nearest first.
+     */
+    public List<Hit> closest(double latitude, double longitude, double radiusKm, DistanceCursor after, int limit) {
+        TopHits top = new TopHits(limit, after);
+        forEachWithin(latitude, longitude, radiusKm, top::offer);
+        return top.sorted();
+    }
+
+    /**
+     * Up to {@code limit} salons nearest to the point and no farther than {@code maxRadiusKm}, nearest first.
+     * Searches a growing radius so that sparse areas widen the scan and dense areas stop after a few cells.
+     */
+    public List<Hit> nearest(double latitude, double longitude, int limit, double maxRadiusKm) {
+        double radiusKm = Math.min(maxRadiusKm, CELL_DEGREES * KM_PER_DEGREE);
+        while (true) {
+            List<Hit> hits = closest(latitude, longitude, radiusKm, null, limit);
+            if (hits.size() == limit || radiusKm >= maxRadiusKm) {
+                return hits;
+            }
+            radiusKm = Math.min(maxRadiusKm, radiusKm * 2);
+        }
+    }
+
+    /**
+     * Adds, moves or removes the salon once the current transaction commits.
+     */
+    public void index(Long salonId, Double latitude, Double longitude) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> write(current -> {
+            current.remove(salonId);
+            if (latitude != null && longitude != null) {
+                current.add(salonId, latitude, longitude);
+            }
+        }));
+    }
+
+    public void remove(Long salonId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> write(current -> current.remove(salonId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.salon.geo-index.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.salon.geo-index.refresh-interval-ms:300000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Grid rebuilt = null;
+        try {
+            rebuilt = load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null) {
+                    for (GridAction action : replay) {
+                        action.apply(rebuilt);
+                    }
+                    grid = rebuilt;
+                }
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.debug("Indexed {} geolocated salons", rebuilt.size());
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+
+    private Grid load() {
+        Grid loaded = new Grid();
+        for (SalonRepository.GeoPointView point : salonRepository.findGeoPoints()) {
+            loaded.add(point.getId(), point.getLatitude(), point.getLongitude());
+        }
+        return loaded;
+    }
+
+    private void forEachWithin(double latitude, double longitude, double radiusKm, HitConsumer consumer) {
+        GeoBox box = GeoBox.around(latitude, longitude, radiusKm);
+        if (enabled) {
+            ensureLoaded();
+            lock.readLock().lock();
+            try {
+                grid.scan(box, latitude, longitude, radiusKm, consumer);
+            } finally {
+                lock.readLock().unlock();
+            }
+            return;
+        }
+
+        List<SalonRepository.GeoPointView> candidates = new ArrayList<>();
+        if (box.wrapsAntimeridian()) {
+            candidates.addAll(salonRepository.findGeoPointsInBox(box.minLat(), box.maxLat(), box.minLng(), 180));
+            candidates.addAll(salonRepository.findGeoPointsInBox(box.minLat(), box.maxLat(), -180, box.maxLng()));
+        } else {
+            candidates.addAll(salonRepository.findGeoPointsInBox(box.minLat(), box.maxLat(), box.minLng(), box.maxLng()));
+        }
+        for (SalonRepository.GeoPointView point : candidates) {
+            double distance = distanceKm(latitude, longitude, point.getLatitude(), point.getLongitude());
+            if (distance <= radiusKm) {
+                consumer.accept(new Hit(point.getId(), distance));
+            }
+        }
+    }
+
+    /**
+     * Applies a write to the live grid and, while a reload is running, queues it for replay on the reloaded one.
+     * Writes are idempotent, so replaying one the reload already saw is harmless.
+     */
+    private void write(GridAction action) {
+        lock.writeLock().lock();
+        try {
+            if (grid != null) {
+                action.apply(grid);
+            }
+            if (replay != null) {
+                replay.add(action);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (grid != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        synchronized (this) {
+            if (grid == null) {
+                rebuild();
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int latCell(double latitude) {
+        return Math.min(LAT_CELLS - 1, Math.max(0, (int) Math.floor((latitude + 90) / CELL_DEGREES)));
+    }
+
+    private static int lngCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LNG_CELLS);
+    }
+
+    public record Hit(long salonId, double distanceKm) {
+    }
+
+    /**
+     * Lat/lng bounds of a circle. The longitude half-width is the exact spherical one; boxes touching a pole
+     * or wider than the globe span every longitude, and {@code minLng > maxLng} means the box wraps the antimeridian.
+     */
+    record GeoBox(double minLat, double maxLat, double minLng, double maxLng) {
+
+        static GeoBox around(double latitude, double longitude, double radiusKm) {
+            double latSpan = radiusKm / KM_PER_DEGREE;
+            double minLat = latitude - latSpan;
+            double maxLat = latitude + latSpan;
+            if (minLat <= -90 || maxLat >= 90) {
+                return new GeoBox(Math.max(-90, minLat), Math.min(90, maxLat), -180, 180);
+            }
+
+            double ratio = Math.sin(radiusKm / EARTH_RADIUS_KM) / Math.cos(Math.toRadians(latitude));
+            if (ratio >= 1) {
+                return new GeoBox(minLat, maxLat, -180, 180);
+            }
+            double lngSpan = Math.toDegrees(Math.asin(ratio));
+            double minLng = longitude - lngSpan;
+            double maxLng = longitude + lngSpan;
+            if (minLng < -180) {
+                minLng += 360;
+            }
+            if (maxLng > 180) {
+                maxLng -= 360;
+            }
+            return new GeoBox(minLat, maxLat, minLng, maxLng);
+        }
+
+        boolean wrapsAntimeridian() {
+            return minLng > maxLng;
+        }
+    }
+
+    private static final class TopHits {
+        private final int limit;
+        private final DistanceCursor after;
+        private final PriorityQueue<Hit> heap;
+
+        private TopHits(int limit, DistanceCursor after) {
+            this.limit = limit;
+            this.after = after;
+            this.heap = new PriorityQueue<>(limit + 1, NEAREST_FIRST.reversed());
+        }
+
+        void offer(Hit hit) {
+            if (after != null && NEAREST_FIRST.compare(hit, new Hit(after.id(), after.distanceKm())) <= 0) {
+                return;
+            }
+            heap.offer(hit);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<Hit> sorted() {
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(NEAREST_FIRST);
+            return hits;
+        }
+    }
+
+    @FunctionalInterface
+    private interface GridAction {
+        void apply(Grid grid);
+    }
+
+    @FunctionalInterface
+    private interface HitConsumer {
+        void accept(Hit hit);
+    }
+
+    private static final class Grid {
+        private final Map<Long, Cell> cells = new HashMap<>();
+        private final Map<Long, Long> cellBySalon = new HashMap<>();
+
+        int size() {
+            return cellBySalon.size();
+        }
+
+        void add(long salonId, double latitude, double longitude) {
+            long key = (long) latCell(latitude) * LNG_CELLS + lngCell(longitude);
+            cells.computeIfAbsent(key, ignored -> new Cell()).add(salonId, latitude, longitude);
+            cellBySalon.put(salonId, key);
+        }
+
+        void remove(long salonId) {
+            Long key = cellBySalon.remove(salonId);
+            if (key == null) {
+                return;
+            }
+            Cell cell = cells.get(key);
+            if (cell != null && cell.remove(salonId) && cell.size == 0) {
+                cells.remove(key);
+            }
+        }
+
+        void scan(GeoBox box, double latitude, double longitude, double radiusKm, HitConsumer consumer) {
+            int fromLng = 0;
+            int lngCount = LNG_CELLS;
+            if (box.minLng() > -180 || box.maxLng() < 180) {
+                fromLng = lngCell(box.minLng());
+                int toLng = lngCell(box.maxLng());
+                int span = box.wrapsAntimeridian() || toLng < fromLng ? toLng + LNG_CELLS - fromLng : toLng - fromLng;
+                lngCount = Math.min(LNG_CELLS, span + 1);
+            }
+
+            for (int latIndex = latCell(box.minLat()), maxLatIndex = latCell(box.maxLat()); latIndex <= maxLatIndex; latIndex++) {
+                for (int i = 0; i < lngCount; i++) {
+                    Cell cell = cells.get((long) latIndex * LNG_CELLS + (fromLng + i) % LNG_CELLS);
+                    if (cell != null) {
+                        cell.scan(latitude, longitude, radiusKm, consumer);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Cell {
+        private long[] ids = new long[4];
+        private double[] lats = new double[4];
+        private double[] lngs = new double[4];
+        private int size;
+
+        void add(long salonId, double latitude, double longitude) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                lats = Arrays.copyOf(lats, size * 2);
+                lngs = Arrays.copyOf(lngs, size * 2);
+            }
+            ids[size] = salonId;
+            lats[size] = latitude;
+            lngs[size] = longitude;
+            size++;
+        }
+
+        boolean remove(long salonId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == salonId) {
+                    size--;
+                    ids[i] = ids[size];
+                    lats[i] = lats[size];
+                    lngs[i] = lngs[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void scan(double latitude, double longitude, double radiusKm, HitConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                double distance = distanceKm(latitude, longitude, lats[i], lngs[i]);
+                if (distance <= radiusKm) {
+                    consumer.accept(new Hit(ids[i], distance));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+ALTER TABLE booking_stats
+  ADD COLUMN IF NOT EXISTS granularity VARCHAR(8) NOT NULL DEFAULT 'DAY',
+  ADD COLUMN IF NOT EXISTS revenue DOUBLE NOT NULL DEFAULT 0;
+
+DELETE FROM booking_stats;
+
+ALTER TABLE booking_stats
+  MODIFY COLUMN salon_id BIGINT NOT NULL,
+  MODIFY COLUMN service_offering_id BIGINT NOT NULL,
+  MODIFY COLUMN period_start DATETIME NOT NULL,
+  MODIFY COLUMN period_end DATETIME NOT NULL,
+  MODIFY COLUMN booking_count INT NOT NULL,
+  ADD CONSTRAINT uk_booking_stats_bucket UNIQUE (granularity, salon_id, service_offering_id, period_start),
+  ADD INDEX idx_booking_stats_granularity_period (granularity, period_start);
+
+CREATE TABLE IF NOT EXISTS customer_booking_days (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  customer_id BIGINT NOT NULL,
+  booking_day DATE NOT NULL,
+  booking_count INT NOT NULL,
+  CONSTRAINT uk_customer_booking_day UNIQUE (customer_id, booking_day),
+  INDEX idx_customer_booking_days_day (booking_day)
+);
@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS salon_ratings (
+  salon_id BIGINT PRIMARY KEY,
+  rating_count BIGINT NOT NULL,
+  rating_sum DOUBLE NOT NULL,
+  stars_1 BIGINT NOT NULL,
+  stars_2 BIGINT NOT NULL,
+  stars_3 BIGINT NOT NULL,
+  stars_4 BIGINT NOT NULL,
+  stars_5 BIGINT NOT NULL
+);
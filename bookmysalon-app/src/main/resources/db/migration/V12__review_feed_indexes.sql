@@ -0,0 +1,2 @@
+CREATE INDEX idx_reviews_salon_created ON reviews (salon_id, created_at);
+CREATE INDEX idx_reviews_salon_rating ON reviews (salon_id, rating);
@@ -0,0 +1,29 @@
+ALTER TABLE conversations
+  ADD COLUMN IF NOT EXISTS last_message_id BIGINT NULL,
+  ADD COLUMN IF NOT EXISTS last_message_sender_id BIGINT NULL,
+  ADD COLUMN IF NOT EXISTS last_message_preview VARCHAR(200) NULL,
+  ADD COLUMN IF NOT EXISTS last_message_at DATETIME NULL,
+  ADD COLUMN IF NOT EXISTS customer_unread_count INT NOT NULL DEFAULT 0,
+  ADD COLUMN IF NOT EXISTS salon_owner_unread_count INT NOT NULL DEFAULT 0;
+
+UPDATE conversations c
+SET c.last_message_id = (SELECT MAX(m.id) FROM messages m WHERE m.conversation_id = c.id),
+    c.customer_unread_count = (
+      SELECT COUNT(*) FROM messages m
+      WHERE m.conversation_id = c.id AND m.receiver_id = c.customer_id AND m.status <> 'READ'
+    ),
+    c.salon_owner_unread_count = (
+      SELECT COUNT(*) FROM messages m
+      WHERE m.conversation_id = c.id AND m.receiver_id = c.salon_owner_id AND m.status <> 'READ'
+    ),
+    c.updated_at = c.updated_at;
+
+UPDATE conversations c
+JOIN messages m ON m.id = c.last_message_id
+SET c.last_message_sender_id = m.sender_id,
+    c.last_message_preview = LEFT(m.content, 200),
+    c.last_message_at = m.created_at,
+    c.updated_at = m.created_at;
+
+CREATE INDEX idx_conversation_customer_updated ON conversations (customer_id, updated_at);
+CREATE INDEX idx_conversation_owner_updated ON conversations (salon_owner_id, updated_at);
@@ -0,0 +1 @@
+ALTER TABLE outbox_events ADD COLUMN next_attempt_at DATETIME NULL;
@@ -0,0 +1,2 @@
+ALTER TABLE idempotency_keys ADD COLUMN lease_expires_at DATETIME NULL;
+UPDATE idempotency_keys SET lease_expires_at = created_at WHERE status_code IS NULL;
@@ -0,0 +1,3 @@
+CREATE TABLE IF NOT EXISTS rollup_locks (
+  name VARCHAR(64) PRIMARY KEY
+);
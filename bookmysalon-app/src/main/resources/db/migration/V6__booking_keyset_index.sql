@@ -0,0 +1 @@
+CREATE INDEX idx_bookings_start ON bookings (start_time);
@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS outbox_events (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  aggregate_type VARCHAR(32) NOT NULL,
+  aggregate_id BIGINT NOT NULL,
+  event_type VARCHAR(64) NOT NULL,
+  exchange VARCHAR(64) NOT NULL,
+  routing_key VARCHAR(64) NOT NULL,
+  payload TEXT NOT NULL,
+  status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+  attempts INT NOT NULL DEFAULT 0,
+  last_error VARCHAR(500) NULL,
+  created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  sent_at DATETIME NULL,
+  INDEX idx_outbox_status_id (status, id),
+  INDEX idx_outbox_status_sent (status, sent_at)
+);
@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  scope VARCHAR(64) NOT NULL,
+  user_id BIGINT NOT NULL,
+  idempotency_key VARCHAR(128) NOT NULL,
+  request_hash VARCHAR(64) NOT NULL,
+  status_code INT NULL,
+  response_body TEXT NULL,
+  created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  expires_at DATETIME NOT NULL,
+  CONSTRAINT uk_idempotency_scope_user_key UNIQUE (scope, user_id, idempotency_key),
+  INDEX idx_idempotency_expires (expires_at)
+);
@@ -0,0 +1,4 @@
+ALTER TABLE bookings
+  ADD COLUMN IF NOT EXISTS hold_expires_at DATETIME NULL;
+
+CREATE INDEX idx_bookings_status_hold ON bookings (status, hold_expires_at);
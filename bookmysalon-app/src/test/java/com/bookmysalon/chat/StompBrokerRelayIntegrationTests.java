@@ -0,0 +1,192 @@
+package com.bookmysalon.chat;
+
+import com.bookmysalon.BookMySalonApplication;
+import com.bookmysalon.chat.dto.ConversationDto;
+import com.bookmysalon.chat.service.MessageService;
+import com.bookmysalon.entity.NotificationType;
+import com.bookmysalon.security.CustomUserDetailsService;
+import com.bookmysalon.security.CustomUserPrincipal;
+import com.bookmysalon.security.JwtService;
+import com.bookmysalon.service.NotificationService;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts two application nodes in relay mode against an embedded ActiveMQ Artemis broker speaking STOMP and
+ * checks that pushes from one node reach users connected to the other. Both nodes share one in-memory database.
+ * The acceptor has no anycast/multicast prefixes: a user destination resolved from the broadcast topic keeps
+ * Artemis' destination-type header, which would otherwise route it past an anycast /queue subscription.
+ */
+class StompBrokerRelayIntegrationTests {
+
+    private static final String CUSTOMER_EMAIL = "customer.test@gmail.com";
+    private static final String OWNER_EMAIL = "owner.test@gmail.com";
+
+    private static final String JWT_SECRET = "c3RvbXAtcmVsYXktaXQtc2VjcmV0LTAxMjM0NTY3ODlhYmNkZWYwMTIzNDU2Nzg5YWI=";
+
+    private static EmbeddedActiveMQ broker;
+    private static int brokerPort;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    private static WebSocketStompClient stompClient;
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            brokerPort = socket.getLocalPort();
+        }
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + brokerPort + "?protocols=STOMP"));
+        broker.start();
+
+        nodeA = startNode();
+        nodeB = startNode();
+
+        stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        ThreadPoolTaskScheduler receiptScheduler = new ThreadPoolTaskScheduler();
+        receiptScheduler.initialize();
+        stompClient.setTaskScheduler(receiptScheduler);
+    }
+
+    @AfterAll
+    static void stopNodes() throws Exception {
+        if (stompClient != null) {
+            stompClient.stop();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    void userDestinationPushedOnOneNodeReachesUserOnTheOther() throws Exception {
+        CustomUserPrincipal customer = principal(nodeA, CUSTOMER_EMAIL);
+        StompSession session = connect(nodeA, customer);
+        BlockingQueue<Map<String, Object>> received = new LinkedBlockingQueue<>();
+        subscribe(session, "/user/queue/notifications", received);
+
+        nodeB.getBean(NotificationService.class).createAndPushNotification(
+                customer.getId(), NotificationType.NEW_MESSAGE, "relay check", null, null, null);
+
+        Map<String, Object> notification = received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(notification, "notification pushed on node B did not reach node A");
+        assertEquals("relay check", notification.get("description"));
+        session.disconnect();
+    }
+
+    @Test
+    void conversationTopicSentOnOneNodeReachesSubscriberOnTheOther() throws Exception {
+        CustomUserPrincipal customer = principal(nodeA, CUSTOMER_EMAIL);
+        CustomUserPrincipal owner = principal(nodeB, OWNER_EMAIL);
+        ConversationDto conversation = nodeA.getBean(MessageService.class).getOrCreateConversation(customer.getId(), owner.getId());
+
+        StompSession ownerSession = connect(nodeB, owner);
+        BlockingQueue<Map<String, Object>> received = new LinkedBlockingQueue<>();
+        subscribe(ownerSession, "/topic/messages." + conversation.getId(), received);
+
+        StompSession customerSession = connect(nodeA, customer);
+        customerSession.send("/app/chat.send", Map.of(
+                "conversationId", conversation.getId(),
+                "receiverId", owner.getId(),
+                "content", "hello from node A"
+        ));
+
+        Map<String, Object> message = received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(message, "message sent through node A did not reach the subscriber on node B");
+        assertEquals("hello from node A", message.get("content"));
+        customerSession.disconnect();
+        ownerSession.disconnect();
+    }
+
+    /**
+     * Settings go in as command line arguments so they win over the test application.yml.
+     */
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(BookMySalonApplication.class).run(
+                "--server.port=0",
+                "--app.demo.seed-users=true",
+                "--app.websocket.broker.mode=relay",
+                "--app.websocket.broker.relay.host=127.0.0.1",
+                "--app.websocket.broker.relay.port=" + brokerPort,
+                "--security.jwt.secret=" + JWT_SECRET,
+                "--spring.datasource.url=jdbc:h2:mem:stomp_relay_it;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+        );
+    }
+
+    private static CustomUserPrincipal principal(ConfigurableApplicationContext node, String email) {
+        return (CustomUserPrincipal) node.getBean(CustomUserDetailsService.class).loadUserByUsername(email);
+    }
+
+    private static StompSession connect(ConfigurableApplicationContext node, CustomUserPrincipal user) throws Exception {
+        String token = node.getBean(JwtService.class).generateAccessToken(user);
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+        return stompClient.connectAsync(
+                "http://localhost:" + port + "/ws/chat?token=" + token,
+                new WebSocketHttpHeaders(),
+                connectHeaders,
+                new StompSessionHandlerAdapter() {
+                }
+        ).get(10, TimeUnit.SECONDS);
+    }
+
+    private static void subscribe(StompSession session, String destination, BlockingQueue<Map<String, Object>> sink) throws InterruptedException {
+        CountDownLatch subscribed = new CountDownLatch(1);
+        session.setAutoReceipt(true);
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void handleFrame(StompHeaders headers, Object payload) {
+                sink.add((Map<String, Object>) payload);
+            }
+        }).addReceiptTask(subscribed::countDown);
+        assertTrue(subscribed.await(10, TimeUnit.SECONDS), "broker did not confirm subscription to " + destination);
+    }
+}
@@ -0,0 +1,166 @@
+package com.bookmysalon.chat.service.impl;
+
+import com.bookmysalon.chat.dto.MessageDto;
+import com.bookmysalon.chat.dto.ReadReceiptDto;
+import com.bookmysalon.chat.entity.MessageStatus;
+import com.bookmysalon.chat.repository.MessageRepository;
+import com.bookmysalon.chat.service.MessageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "app.demo.seed-users=true")
+class MessageServiceImplTest {
+
+    private static final Long CUSTOMER_ID = 1L;
+    private static final Long OWNER_ID = 2L;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private MessageRepository messageRepository;
+
+    private Long conversationId;
+
+    @BeforeEach
+    void setUp() {
+        conversationId = messageService.getOrCreateConversation(CUSTOMER_ID, OWNER_ID).getId();
+        messageService.markConversationRead(OWNER_ID, conversationId);
+        messageService.markConversationRead(CUSTOMER_ID, conversationId);
+        jdbcTemplate.update("UPDATE conversations SET customer_unread_count = 0, salon_owner_unread_count = 0 WHERE id = ?",
+                conversationId);
+    }
+
+    @Test
+    void firstSendInsertsTheMessageAndCountsItOnce() {
+        String clientMessageId = UUID.randomUUID().toString();
+
+        MessageDto sent = messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "  Hello  ", clientMessageId);
+
+        assertNotNull(sent.getId());
+        assertEquals("Hello", sent.getContent());
+        assertEquals(clientMessageId, sent.getClientMessageId());
+        assertEquals(1, messageCount(clientMessageId));
+        assertEquals(1, ownerUnread());
+        assertEquals(sent.getId(), jdbcTemplate.queryForObject(
+                "SELECT last_message_id FROM conversations WHERE id = ?", Long.class, conversationId));
+    }
+
+    @Test
+    void resendWithTheSameClientMessageIdReturnsTheExistingMessage() {
+        String clientMessageId = UUID.randomUUID().toString();
+        MessageDto first = messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "Hello", clientMessageId);
+
+        MessageDto resent = messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "Hello again", clientMessageId);
+
+        assertEquals(first.getId(), resent.getId());
+        assertEquals("Hello", resent.getContent());
+        assertEquals(1, messageCount(clientMessageId));
+        assertEquals(1, ownerUnread());
+    }
+
+    @Test
+    void clientMessageIdOfAnotherSenderIsRejected() {
+        String clientMessageId = UUID.randomUUID().toString();
+        messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "Hello", clientMessageId);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> messageService.sendMessage(OWNER_ID, conversationId, CUSTOMER_ID, "Hi", clientMessageId));
+
+        assertEquals(1, messageCount(clientMessageId));
+        assertEquals(0, customerUnread());
+    }
+
+    @Test
+    void messagesWithoutClientMessageIdAreNeverTreatedAsDuplicates() {
+        MessageDto first = messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "One", null);
+        MessageDto second = messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "Two", " ");
+
+        assertNotNull(first.getId());
+        assertNotNull(second.getId());
+        assertEquals(2, ownerUnread());
+    }
+
+    @Test
+    void markReadClearsTheCounterForTheMessagesItRead() {
+        MessageDto first = messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "One", null);
+        MessageDto second = messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "Two", null);
+
+        ReadReceiptDto receipt = messageService.markConversationRead(OWNER_ID, conversationId);
+
+        assertEquals(second.getId(), receipt.getUpToMessageId());
+        assertEquals(2, receipt.getReadCount());
+        assertEquals(0, ownerUnread());
+        assertEquals(MessageStatus.READ.name(), status(first.getId()));
+    }
+
+    /**
+     * Sends a message from another transaction right after the reader picked its upper bound, so the new
+     * message lies above upToMessageId and has already been added to the counter.
+     */
+    @Test
+    void messageArrivingAboveTheReadBoundStaysCounted() {
+        MessageDto read = messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "Before", null);
+        MessageDto[] late = new MessageDto[1];
+        doAnswer(invocation -> {
+            Long upToMessageId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM messages"
+                    + " WHERE conversation_id = ? AND receiver_id = ? AND status <> 'READ'", Long.class, conversationId, OWNER_ID);
+            late[0] = CompletableFuture.supplyAsync(
+                    () -> messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "During", null)).join();
+            return upToMessageId;
+        }).when(messageRepository).findMaxUnreadId(any(), any());
+
+        ReadReceiptDto receipt = messageService.markConversationRead(OWNER_ID, conversationId);
+
+        assertEquals(read.getId(), receipt.getUpToMessageId());
+        assertEquals(1, receipt.getReadCount());
+        assertEquals(1, ownerUnread());
+        assertEquals(MessageStatus.READ.name(), status(read.getId()));
+        assertEquals(MessageStatus.SENT.name(), status(late[0].getId()));
+    }
+
+    @Test
+    void unreadCounterNeverGoesNegative() {
+        messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "One", null);
+        messageService.sendMessage(CUSTOMER_ID, conversationId, OWNER_ID, "Two", null);
+        jdbcTemplate.update("UPDATE conversations SET salon_owner_unread_count = 1 WHERE id = ?", conversationId);
+
+        ReadReceiptDto receipt = messageService.markConversationRead(OWNER_ID, conversationId);
+
+        assertEquals(2, receipt.getReadCount());
+        assertEquals(0, ownerUnread());
+        assertEquals(0, customerUnread());
+    }
+
+    private String status(Long messageId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM messages WHERE id = ?", String.class, messageId);
+    }
+
+    private int messageCount(String clientMessageId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM messages WHERE client_message_id = ?", Integer.class, clientMessageId);
+    }
+
+    private int ownerUnread() {
+        return jdbcTemplate.queryForObject("SELECT salon_owner_unread_count FROM conversations WHERE id = ?", Integer.class, conversationId);
+    }
+
+    private int customerUnread() {
+        return jdbcTemplate.queryForObject("SELECT customer_unread_count FROM conversations WHERE id = ?", Integer.class, conversationId);
+    }
+}
@@ -0,0 +1,195 @@
+package com.bookmysalon.chat.service.impl;
+
+import com.bookmysalon.chat.service.PresenceTransport;
+import com.bookmysalon.chat.service.PresenceUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PresenceServiceImplTest {
+
+    private static final long LEASE_MS = 30_000;
+
+    private final FakeTransport transport = new FakeTransport();
+    private PresenceServiceImpl presence;
+
+    @BeforeEach
+    void setUp() {
+        presence = presenceService(transport);
+    }
+
+    @Test
+    void localSessionsAreCountedAndChangesArePublishedAsCoalescedDeltas() {
+        presence.onConnect(1L, "a");
+        presence.onConnect(1L, "b");
+        presence.onConnect(2L, "c");
+        presence.onDisconnect(2L, "c");
+        presence.publishChanges();
+
+        assertTrue(presence.isOnline(1L));
+        assertFalse(presence.isOnline(2L));
+        PresenceUpdate first = transport.lastPublished();
+        assertFalse(first.snapshot());
+        assertArrayEquals(new long[]{1L}, first.online());
+        assertArrayEquals(new long[0], first.offline());
+        assertEquals(LEASE_MS, first.leaseMs());
+
+        presence.onDisconnect(1L, "a");
+        presence.onDisconnect(1L, "a");
+        presence.publishChanges();
+        assertTrue(presence.isOnline(1L));
+        assertEquals(1, transport.published.size());
+
+        presence.onDisconnect(1L, "b");
+        presence.publishChanges();
+        assertFalse(presence.isOnline(1L));
+        assertArrayEquals(new long[]{1L}, transport.lastPublished().offline());
+    }
+
+    @Test
+    void remoteDeltasAddAndRemoveUsers() {
+        presence.apply(delta("node-b", new long[]{1L, 2L}, new long[0]));
+        assertTrue(presence.isOnline(1L));
+        assertTrue(presence.isOnline(2L));
+
+        presence.apply(delta("node-b", new long[0], new long[]{1L}));
+        presence.apply(delta("node-b", new long[0], new long[]{1L}));
+
+        assertFalse(presence.isOnline(1L));
+        assertTrue(presence.isOnline(2L));
+    }
+
+    @Test
+    void remoteSnapshotReplacesEverythingKnownAboutThatNode() {
+        presence.apply(delta("node-b", new long[]{1L, 2L}, new long[0]));
+
+        presence.apply(snapshot("node-b", LEASE_MS, 2L, 3L));
+
+        assertFalse(presence.isOnline(1L));
+        assertTrue(presence.isOnline(2L));
+        assertTrue(presence.isOnline(3L));
+    }
+
+    @Test
+    void userStaysOnlineWhileAnyNodeStillReportsThem() {
+        presence.apply(snapshot("node-b", LEASE_MS, 1L));
+        presence.apply(snapshot("node-c", LEASE_MS, 1L));
+
+        presence.apply(snapshot("node-b", LEASE_MS));
+        assertTrue(presence.isOnline(1L));
+
+        presence.apply(delta("node-c", new long[0], new long[]{1L}));
+        assertFalse(presence.isOnline(1L));
+    }
+
+    @Test
+    void usersOfANodeWhoseLeaseExpiredGoOffline() throws Exception {
+        presence.apply(snapshot("node-b", 50, 1L));
+        presence.apply(snapshot("node-c", LEASE_MS, 2L));
+        Thread.sleep(100);
+
+        presence.heartbeat();
+
+        assertFalse(presence.isOnline(1L));
+        assertTrue(presence.isOnline(2L));
+    }
+
+    @Test
+    void heartbeatPublishesASnapshotOfTheLocalUsers() {
+        presence.onConnect(1L, "a");
+        presence.onConnect(2L, "b");
+
+        presence.heartbeat();
+
+        PresenceUpdate heartbeat = transport.lastPublished();
+        assertTrue(heartbeat.snapshot());
+        assertEquals(LEASE_MS, heartbeat.leaseMs());
+        assertEquals(List.of(1L, 2L), sorted(heartbeat.online()));
+
+        presence.publishChanges();
+        assertEquals(1, transport.published.size());
+    }
+
+    @Test
+    void leavingNodeTakesItsUsersOfflineOnTheOtherNodesAtOnce() {
+        FakeTransport otherTransport = new FakeTransport();
+        PresenceServiceImpl other = presenceService(otherTransport);
+        other.onConnect(1L, "a");
+        other.publishChanges();
+        presence.apply(otherTransport.lastPublished());
+        assertTrue(presence.isOnline(1L));
+
+        other.leave();
+
+        PresenceUpdate goodbye = otherTransport.lastPublished();
+        assertTrue(goodbye.snapshot());
+        assertEquals(0, goodbye.leaseMs());
+        assertArrayEquals(new long[0], goodbye.online());
+        presence.apply(goodbye);
+        assertFalse(presence.isOnline(1L));
+        assertFalse(other.isOnline(1L));
+    }
+
+    @Test
+    void updatesFromThisNodeAreIgnored() {
+        presence.onConnect(1L, "a");
+        presence.publishChanges();
+        presence.onDisconnect(1L, "a");
+
+        presence.apply(transport.lastPublished());
+
+        assertFalse(presence.isOnline(1L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PresenceServiceImpl presenceService(FakeTransport transport) {
+        ObjectProvider<PresenceTransport> transportProvider = mock(ObjectProvider.class);
+        when(transportProvider.getIfAvailable()).thenReturn(transport);
+        PresenceServiceImpl service = new PresenceServiceImpl(transportProvider);
+        ReflectionTestUtils.setField(service, "leaseMs", LEASE_MS);
+        return service;
+    }
+
+    private static PresenceUpdate delta(String nodeId, long[] online, long[] offline) {
+        return new PresenceUpdate(nodeId, false, online, offline, LEASE_MS);
+    }
+
+    private static PresenceUpdate snapshot(String nodeId, long leaseMs, long... online) {
+        return new PresenceUpdate(nodeId, true, online, new long[0], leaseMs);
+    }
+
+    private static List<Long> sorted(long[] ids) {
+        return Arrays.stream(ids).sorted().boxed().toList();
+    }
+
+    private static final class FakeTransport implements PresenceTransport {
+
+        private final List<PresenceUpdate> published = new ArrayList<>();
+
+        @Override
+        public void publish(PresenceUpdate update) {
+            published.add(update);
+        }
+
+        @Override
+        public void onUpdate(Consumer<PresenceUpdate> listener) {
+        }
+
+        PresenceUpdate lastPublished() {
+            return published.get(published.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.bookmysalon.chat.websocket;
+
+import com.bookmysalon.chat.service.ConversationParticipantCache;
+import com.bookmysalon.security.JwtPrincipalResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtChannelInterceptorTest {
+
+    private static final long USER_ID = 7L;
+
+    private final ConversationParticipantCache participantCache = mock(ConversationParticipantCache.class);
+    private final JwtChannelInterceptor interceptor =
+            new JwtChannelInterceptor(mock(JwtPrincipalResolver.class), participantCache);
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @Test
+    void participantMaySubscribeToTheDotSeparatedConversationTopic() {
+        when(participantCache.isParticipant(42L, USER_ID)).thenReturn(true);
+        Message<byte[]> subscribe = subscribe("/topic/messages.42");
+
+        assertSame(subscribe, interceptor.preSend(subscribe, channel));
+    }
+
+    @Test
+    void nonParticipantIsRejected() {
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(subscribe("/topic/messages.42"), channel));
+    }
+
+    @Test
+    void malformedAndWildcardConversationTopicsAreRejected() {
+        when(participantCache.isParticipant(42L, USER_ID)).thenReturn(true);
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(subscribe("/topic/messages/42"), channel));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(subscribe("/topic/messages.42.x"), channel));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(subscribe("/topic/messages.*"), channel));
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(subscribe("/topic/#"), channel));
+    }
+
+    @Test
+    void otherDestinationsPassThrough() {
+        Message<byte[]> subscribe = subscribe("/user/queue/notifications");
+
+        assertSame(subscribe, interceptor.preSend(subscribe, channel));
+    }
+
+    private static Message<byte[]> subscribe(String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setUser(new WsUserPrincipal(USER_ID, "user@example.com"));
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,107 @@
+package com.bookmysalon.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationListTest {
+
+    private static final Long USER_ID = 5L;
+    private static final String SECRET = "MDEyMzQ1Njc4OTAxMjM0NTY3ODkwMTIzNDU2Nzg5MDE=";
+
+    private final FakeTransport transport = new FakeTransport();
+
+    private TokenRevocationList revocationList;
+    private JwtService jwtService;
+    private JwtPrincipalResolver resolver;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<TokenRevocationTransport> transportProvider = mock(ObjectProvider.class);
+        when(transportProvider.getIfAvailable()).thenReturn(transport);
+        revocationList = new TokenRevocationList(transportProvider);
+        ReflectionTestUtils.setField(revocationList, "accessTokenExpirationMs", 60_000L);
+
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpirationMs", 60_000L);
+
+        resolver = new JwtPrincipalResolver(jwtService, mock(CustomUserDetailsService.class), revocationList);
+        ReflectionTestUtils.setField(resolver, "authenticationMode", "stateless");
+    }
+
+    @Test
+    void tokenIssuedInTheRevocationSecondIsAcceptedAndEarlierOnesAreNot() {
+        revocationList.revokeUser(USER_ID);
+        long second = transport.published.get(0).revokedBeforeEpochSecond().get(USER_ID) * 1000;
+
+        assertTrue(revocationList.isRevoked(USER_ID, new Date(second - 1)));
+        assertTrue(revocationList.isRevoked(USER_ID, null));
+        assertFalse(revocationList.isRevoked(USER_ID, new Date(second)));
+        assertFalse(revocationList.isRevoked(USER_ID, new Date(second + 999)));
+        assertFalse(revocationList.isRevoked(USER_ID + 1, new Date(second - 1)));
+    }
+
+    @Test
+    void revokedTokenIsRejectedAndTheTokenReIssuedRightAfterTheRevocationResolves() throws Exception {
+        String oldToken = jwtService.generateAccessToken(principal());
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+
+        revocationList.revokeUser(USER_ID);
+        String newToken = jwtService.generateAccessToken(principal());
+
+        assertThrows(JwtException.class, () -> resolver.resolve(oldToken));
+        assertEquals(USER_ID, resolver.resolve(newToken).getId());
+    }
+
+    @Test
+    void revocationsArePublishedAndRemoteOnesAreApplied() {
+        revocationList.revokeUser(USER_ID);
+        long revokedBefore = transport.published.get(0).revokedBeforeEpochSecond().get(USER_ID);
+
+        transport.listener.accept(new TokenRevocationTransport.Revocations(Map.of(USER_ID + 1, revokedBefore)));
+        transport.listener.accept(new TokenRevocationTransport.Revocations(Map.of(USER_ID, revokedBefore - 10)));
+
+        assertTrue(revocationList.isRevoked(USER_ID + 1, new Date((revokedBefore - 1) * 1000)));
+        assertTrue(revocationList.isRevoked(USER_ID, new Date((revokedBefore - 1) * 1000)));
+        assertFalse(revocationList.isRevoked(USER_ID, new Date(revokedBefore * 1000)));
+    }
+
+    private static CustomUserPrincipal principal() {
+        return new CustomUserPrincipal(USER_ID, "user@example.com", "user@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+    }
+
+    private static final class FakeTransport implements TokenRevocationTransport {
+
+        private final List<Revocations> published = new ArrayList<>();
+        private Consumer<Revocations> listener;
+
+        @Override
+        public void publish(Revocations revocations) {
+            published.add(revocations);
+        }
+
+        @Override
+        public void onRevocations(Consumer<Revocations> listener) {
+            this.listener = listener;
+        }
+    }
+}
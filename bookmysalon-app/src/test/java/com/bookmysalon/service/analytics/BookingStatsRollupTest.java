@@ -0,0 +1,186 @@
+package com.bookmysalon.service.analytics;
+
+import com.bookmysalon.entity.Booking;
+import com.bookmysalon.entity.BookingStatus;
+import com.bookmysalon.entity.Salon;
+import com.bookmysalon.repository.BookingRepository;
+import com.bookmysalon.repository.SalonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "app.demo.seed-users=true")
+class BookingStatsRollupTest {
+
+    private static final Long CUSTOMER_ID = 1L;
+    private static final Long OWNER_ID = 2L;
+
+    @Autowired
+    private BookingStatsRollup bookingStatsRollup;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SalonRepository salonRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long salonId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        Salon salon = new Salon();
+        salon.setName("Rollup Salon");
+        salon.setAddress("1 Test Street");
+        salon.setPhoneNumber("0000000000");
+        salon.setEmail("rollup-" + UUID.randomUUID() + "@example.com");
+        salon.setCity("Pune");
+        salon.setOwnerId(OWNER_ID);
+        salon.setOpenTime(LocalTime.of(9, 0));
+        salon.setCloseTime(LocalTime.of(21, 0));
+        salonId = salonRepository.save(salon).getId();
+        start = LocalDateTime.of(2031, 1, 1, 10, 0).plusDays(salonId);
+    }
+
+    @Test
+    void backfillRebuildsRowsThatDriftedFromTheBookings() {
+        createBooking(start, BookingStatus.CONFIRMED, 100.0, Set.of(11L));
+        createBooking(start.plusMinutes(30), BookingStatus.CANCELLED, 50.0, Set.of(11L));
+        jdbcTemplate.update("UPDATE booking_stats SET booking_count = 7, revenue = 999 WHERE salon_id = ?", salonId);
+        jdbcTemplate.update("DELETE FROM customer_booking_days WHERE customer_id = ? AND booking_day = ?", CUSTOMER_ID, start.toLocalDate());
+
+        bookingStatsRollup.backfill();
+
+        assertSalonDay(1, 100.0);
+        assertEquals(1, offeringDayCount(11L));
+        assertEquals(1, customerDayCount(start.toLocalDate()));
+    }
+
+    @Test
+    void backfillKeepsLiveRecordDeltasAndIsIdempotent() {
+        createBooking(start, BookingStatus.CONFIRMED, 100.0, Set.of(11L));
+        bookingStatsRollup.backfill();
+        assertSalonDay(1, 100.0);
+
+        createBooking(start.plusHours(1), BookingStatus.PENDING, 40.0, Set.of(11L, 12L));
+        assertSalonDay(2, 140.0);
+
+        bookingStatsRollup.backfill();
+        bookingStatsRollup.backfill();
+
+        assertSalonDay(2, 140.0);
+        assertEquals(2, offeringDayCount(11L));
+        assertEquals(1, offeringDayCount(12L));
+        assertEquals(2, customerDayCount(start.toLocalDate()));
+    }
+
+    @Test
+    void concurrentBackfillsDoNotDoubleCount() {
+        createBooking(start, BookingStatus.CONFIRMED, 100.0, Set.of(11L));
+        jdbcTemplate.update("DELETE FROM booking_stats WHERE salon_id = ?", salonId);
+
+        List<CompletableFuture<Void>> runs = List.of(
+                CompletableFuture.runAsync(bookingStatsRollup::backfill),
+                CompletableFuture.runAsync(bookingStatsRollup::backfill),
+                CompletableFuture.runAsync(bookingStatsRollup::backfill)
+        );
+        runs.forEach(CompletableFuture::join);
+
+        assertSalonDay(1, 100.0);
+        assertEquals(1, offeringDayCount(11L));
+    }
+
+    @Test
+    void recordCommittedWhileABackfillRunsIsNotWipedOut() throws Exception {
+        createBooking(start, BookingStatus.CONFIRMED, 100.0, Set.of(11L));
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<Void> liveWrite = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(tx -> {
+            Booking booking = booking(start.plusHours(2), BookingStatus.CONFIRMED, 60.0, Set.of(11L));
+            bookingStatsRollup.record(null, BookingStatsRollup.Facts.of(bookingRepository.save(booking)));
+            recorded.countDown();
+            await(commit);
+        }));
+        recorded.await(10, TimeUnit.SECONDS);
+
+        CompletableFuture<Void> backfill = CompletableFuture.runAsync(bookingStatsRollup::backfill);
+        Thread.sleep(300);
+        commit.countDown();
+        liveWrite.get(10, TimeUnit.SECONDS);
+        backfill.get(10, TimeUnit.SECONDS);
+
+        assertSalonDay(2, 160.0);
+        assertEquals(2, offeringDayCount(11L));
+    }
+
+    private void createBooking(LocalDateTime startTime, BookingStatus status, double price, Set<Long> offerings) {
+        transactionTemplate.executeWithoutResult(tx -> bookingStatsRollup.record(null,
+                BookingStatsRollup.Facts.of(bookingRepository.save(booking(startTime, status, price, offerings)))));
+    }
+
+    private Booking booking(LocalDateTime startTime, BookingStatus status, double price, Set<Long> offerings) {
+        Booking booking = new Booking();
+        booking.setSalonId(salonId);
+        booking.setCustomerId(CUSTOMER_ID);
+        booking.setStartTime(startTime);
+        booking.setEndTime(startTime.plusMinutes(30));
+        booking.setStatus(status);
+        booking.setTotalPrice(price);
+        booking.setServiceOfferingIds(offerings);
+        return booking;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void assertSalonDay(int count, double revenue) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT booking_count, revenue FROM booking_stats"
+                        + " WHERE granularity = 'DAY' AND salon_id = ? AND service_offering_id = 0 AND period_start = ?",
+                salonId, Timestamp.valueOf(start.toLocalDate().atStartOfDay()));
+        assertEquals(count, ((Number) row.get("booking_count")).intValue());
+        assertEquals(revenue, ((Number) row.get("revenue")).doubleValue(), 0.0001);
+    }
+
+    private int offeringDayCount(Long offeringId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(booking_count), 0) FROM booking_stats"
+                        + " WHERE granularity = 'DAY' AND salon_id = ? AND service_offering_id = ? AND period_start = ?",
+                Integer.class, salonId, offeringId, Timestamp.valueOf(start.toLocalDate().atStartOfDay()));
+    }
+
+    private int customerDayCount(LocalDate day) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(booking_count), 0) FROM customer_booking_days WHERE customer_id = ? AND booking_day = ?",
+                Integer.class, CUSTOMER_ID, day);
+    }
+}
@@ -0,0 +1,242 @@
+package com.bookmysalon.service.booking;
+
+import com.bookmysalon.entity.Booking;
+import com.bookmysalon.entity.BookingStatus;
+import com.bookmysalon.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BookingConflictIndexTest {
+
+    private static final Long SALON_ID = 7L;
+
+    private final LocalDateTime tomorrowTen = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS).plusHours(10);
+
+    private BookingRepository bookingRepository;
+    private BookingConflictIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findBySalonIdAndStatusInAndEndTimeAfter(eq(SALON_ID), any(), any()))
+                .thenReturn(List.<BookingRepository.SlotView>of(new Slot(1L, tomorrowTen, tomorrowTen.plusHours(1))));
+        index = new BookingConflictIndex(bookingRepository);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void overlappingRequestsConflictButEdgeTouchingOnesDoNot() {
+        index.withSalonLock(SALON_ID, () -> {
+            assertTrue(index.hasConflict(SALON_ID, tomorrowTen.plusMinutes(30), tomorrowTen.plusMinutes(90), null));
+            assertTrue(index.hasConflict(SALON_ID, tomorrowTen.minusMinutes(30), tomorrowTen.plusMinutes(1), null));
+            assertFalse(index.hasConflict(SALON_ID, tomorrowTen.plusHours(1), tomorrowTen.plusHours(2), null));
+            assertFalse(index.hasConflict(SALON_ID, tomorrowTen.minusHours(1), tomorrowTen, null));
+        });
+    }
+
+    @Test
+    void updateExcludesTheBookingItself() {
+        index.withSalonLock(SALON_ID, () -> {
+            assertFalse(index.hasConflict(SALON_ID, tomorrowTen.plusMinutes(30), tomorrowTen.plusMinutes(90), 1L));
+            assertTrue(index.hasConflict(SALON_ID, tomorrowTen.plusMinutes(30), tomorrowTen.plusMinutes(90), 2L));
+        });
+    }
+
+    @Test
+    void accessWithoutTheSalonLockIsRejected() {
+        assertThrows(IllegalStateException.class,
+                () -> index.hasConflict(SALON_ID, tomorrowTen, tomorrowTen.plusHours(1), null));
+    }
+
+    @Test
+    void rollbackRestoresTheMovedInterval() {
+        Booking moved = booking(1L, tomorrowTen.plusHours(3), BookingStatus.CONFIRMED);
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.withSalonLock(SALON_ID, () -> {
+            index.hasConflict(SALON_ID, tomorrowTen, tomorrowTen.plusHours(1), null);
+            index.track(moved);
+            assertArrayEquals(span(moved), index.slotsFor(SALON_ID).tree.get(1L));
+        });
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        index.withSalonLock(SALON_ID, () -> {
+            assertArrayEquals(new long[]{epoch(tomorrowTen), epoch(tomorrowTen.plusHours(1))},
+                    index.slotsFor(SALON_ID).tree.get(1L));
+        });
+    }
+
+    @Test
+    void rollbackDropsANewIntervalAndCommitKeepsIt() {
+        Booking rolledBack = booking(2L, tomorrowTen.plusHours(2), BookingStatus.PENDING);
+        Booking committed = booking(3L, tomorrowTen.plusHours(4), BookingStatus.PENDING);
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.withSalonLock(SALON_ID, () -> {
+            index.slotsFor(SALON_ID);
+            index.track(rolledBack);
+        });
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.withSalonLock(SALON_ID, () -> index.track(committed));
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        index.withSalonLock(SALON_ID, () -> {
+            assertNull(index.slotsFor(SALON_ID).tree.get(2L));
+            assertArrayEquals(span(committed), index.slotsFor(SALON_ID).tree.get(3L));
+        });
+    }
+
+    @Test
+    void cancellingABookingFreesItsInterval() {
+        index.withSalonLock(SALON_ID, () -> {
+            index.slotsFor(SALON_ID);
+            index.track(booking(1L, tomorrowTen, BookingStatus.CANCELLED));
+            assertFalse(index.hasConflict(SALON_ID, tomorrowTen, tomorrowTen.plusHours(1), null));
+        });
+    }
+
+    @Test
+    void queriesStartingBeforeLoadedFromGoToTheDatabase() {
+        LocalDateTime pastStart = LocalDateTime.now().minusHours(2);
+        LocalDateTime pastEnd = pastStart.plusHours(1);
+        when(bookingRepository.existsBySalonIdAndStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
+                SALON_ID, BookingConflictIndex.ACTIVE_STATUSES, pastEnd, pastStart)).thenReturn(true);
+
+        index.withSalonLock(SALON_ID, () -> {
+            assertTrue(index.hasConflict(SALON_ID, pastStart, pastEnd, null));
+            assertFalse(index.hasConflict(SALON_ID, pastStart, pastEnd, 5L));
+        });
+
+        verify(bookingRepository).existsBySalonIdAndStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
+                SALON_ID, BookingConflictIndex.ACTIVE_STATUSES, pastEnd, pastStart);
+        verify(bookingRepository).existsBySalonIdAndIdNotAndStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
+                SALON_ID, 5L, BookingConflictIndex.ACTIVE_STATUSES, pastEnd, pastStart);
+    }
+
+    @Test
+    void endedIntervalsArePrunedOnAccessAndEarlierQueriesFallBackToTheDatabase() {
+        Booking ended = booking(4L, LocalDateTime.now().minusHours(2), BookingStatus.CONFIRMED);
+
+        index.withSalonLock(SALON_ID, () -> {
+            BookingConflictIndex.SalonSlots slots = index.slotsFor(SALON_ID);
+            LocalDateTime loadedFrom = slots.loadedFrom;
+            index.track(ended);
+            assertArrayEquals(span(ended), slots.tree.get(4L));
+
+            assertFalse(index.hasConflict(SALON_ID, ended.getStartTime(), ended.getEndTime(), null));
+            assertNull(slots.tree.get(4L));
+            assertEquals(1, slots.tree.size());
+            assertFalse(slots.loadedFrom.isBefore(loadedFrom));
+        });
+
+        verify(bookingRepository).existsBySalonIdAndStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
+                SALON_ID, BookingConflictIndex.ACTIVE_STATUSES, ended.getEndTime(), ended.getStartTime());
+    }
+
+    @Test
+    void idleSalonsAreEvictedAndReloadedOnNextUse() {
+        BookingConflictIndex.SalonSlots loaded = index.withSalonLock(SALON_ID, () -> index.slotsFor(SALON_ID));
+
+        assertEquals(0, index.evictIdleSince(System.currentTimeMillis() - 60_000));
+        assertEquals(1, index.evictIdleSince(System.currentTimeMillis() + 1));
+
+        BookingConflictIndex.SalonSlots reloaded = index.withSalonLock(SALON_ID, () -> index.slotsFor(SALON_ID));
+        assertNotSame(loaded, reloaded);
+        assertTrue(index.withSalonLock(SALON_ID,
+                () -> index.hasConflict(SALON_ID, tomorrowTen, tomorrowTen.plusMinutes(5), null)));
+    }
+
+    @Test
+    void salonsWithUncommittedTracksAreNotEvicted() {
+        TransactionSynchronizationManager.initSynchronization();
+        BookingConflictIndex.SalonSlots loaded = index.withSalonLock(SALON_ID, () -> {
+            index.slotsFor(SALON_ID);
+            index.track(booking(5L, tomorrowTen.plusHours(5), BookingStatus.PENDING));
+            return index.slotsFor(SALON_ID);
+        });
+
+        assertEquals(0, index.evictIdleSince(System.currentTimeMillis() + 1));
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertSame(loaded, index.withSalonLock(SALON_ID, () -> index.slotsFor(SALON_ID)));
+
+        assertEquals(1, index.evictIdleSince(System.currentTimeMillis() + 1));
+    }
+
+    @Test
+    void untouchedSalonsAreNotLoadedByTrack() {
+        index.withSalonLock(SALON_ID, () -> index.track(booking(6L, tomorrowTen, BookingStatus.PENDING)));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static Booking booking(Long id, LocalDateTime start, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setSalonId(SALON_ID);
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusHours(1));
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private static long[] span(Booking booking) {
+        return new long[]{epoch(booking.getStartTime()), epoch(booking.getEndTime())};
+    }
+
+    private static long epoch(LocalDateTime dateTime) {
+        return BookingConflictIndex.toEpochSecond(dateTime);
+    }
+
+    private record Slot(Long id, LocalDateTime startTime, LocalDateTime endTime) implements BookingRepository.SlotView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getStartTime() {
+            return startTime;
+        }
+
+        @Override
+        public LocalDateTime getEndTime() {
+            return endTime;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.bookmysalon.service.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DayBitmapTest {
+
+    @Test
+    void cellBoundariesRoundTowardsTheInsideOfTheOpenWindow() {
+        assertEquals(0, DayBitmap.cellFloor(LocalTime.MIDNIGHT));
+        assertEquals(108, DayBitmap.cellFloor(LocalTime.of(9, 0)));
+        assertEquals(108, DayBitmap.cellFloor(LocalTime.of(9, 4)));
+        assertEquals(287, DayBitmap.cellFloor(LocalTime.of(23, 59)));
+
+        assertEquals(108, DayBitmap.cellCeil(LocalTime.of(9, 0)));
+        assertEquals(109, DayBitmap.cellCeil(LocalTime.of(9, 1)));
+        assertEquals(109, DayBitmap.cellCeil(LocalTime.of(9, 0, 1)));
+        assertEquals(109, DayBitmap.cellCeil(LocalTime.of(9, 4, 59)));
+        assertEquals(288, DayBitmap.cellCeil(LocalTime.of(23, 59, 30)));
+
+        assertEquals(0, DayBitmap.cellsFor(0));
+        assertEquals(1, DayBitmap.cellsFor(1));
+        assertEquals(6, DayBitmap.cellsFor(30));
+        assertEquals(7, DayBitmap.cellsFor(31));
+    }
+
+    @Test
+    void setRangeSpansWordBoundariesAndClampsToTheDay() {
+        long[] bits = DayBitmap.empty();
+        DayBitmap.setRange(bits, 60, 130);
+        DayBitmap.setRange(bits, 280, 400);
+        DayBitmap.setRange(bits, -5, 2);
+
+        assertEquals(expected(0, 2, 60, 130, 280, DayBitmap.CELLS_PER_DAY), toBitSet(bits));
+    }
+
+    @Test
+    void andNotClearsMaskedCells() {
+        long[] free = DayBitmap.empty();
+        DayBitmap.setRange(free, 0, DayBitmap.CELLS_PER_DAY);
+        long[] busy = DayBitmap.empty();
+        DayBitmap.setRange(busy, 100, 200);
+
+        DayBitmap.andNot(free, busy);
+
+        assertEquals(expected(0, 100, 200, DayBitmap.CELLS_PER_DAY), toBitSet(free));
+    }
+
+    @Test
+    void runStartsMarksCellsWhereTheWholeRunIsFree() {
+        long[] free = DayBitmap.empty();
+        DayBitmap.setRange(free, 10, 20);
+        DayBitmap.setRange(free, 60, 70);
+
+        assertEquals(expected(10, 15, 60, 65), toBitSet(DayBitmap.runStarts(free, 6)));
+        assertEquals(expected(10, 11, 60, 61), toBitSet(DayBitmap.runStarts(free, 10)));
+        assertEquals(new BitSet(), toBitSet(DayBitmap.runStarts(free, 11)));
+        assertEquals(toBitSet(free), toBitSet(DayBitmap.runStarts(free, 1)));
+    }
+
+    @Test
+    void runStartsMatchesBruteForceOnRandomBitmaps() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            long[] free = DayBitmap.empty();
+            for (int run = 0; run < 12; run++) {
+                int from = random.nextInt(DayBitmap.CELLS_PER_DAY);
+                DayBitmap.setRange(free, from, from + 1 + random.nextInt(80));
+            }
+            int length = 1 + random.nextInt(100);
+
+            BitSet expected = new BitSet();
+            BitSet cells = toBitSet(free);
+            for (int cell = 0; cell + length <= DayBitmap.CELLS_PER_DAY; cell++) {
+                if (cells.get(cell, cell + length).cardinality() == length) {
+                    expected.set(cell);
+                }
+            }
+            assertEquals(expected, toBitSet(DayBitmap.runStarts(free, length)), "length " + length);
+        }
+    }
+
+    @Test
+    void nextSetBitWalksAcrossWordsAndStopsAtTheEndOfTheDay() {
+        long[] bits = DayBitmap.empty();
+        DayBitmap.setRange(bits, 3, 4);
+        DayBitmap.setRange(bits, 130, 131);
+        DayBitmap.setRange(bits, 287, 288);
+
+        assertEquals(3, DayBitmap.nextSetBit(bits, 0));
+        assertEquals(3, DayBitmap.nextSetBit(bits, 3));
+        assertEquals(130, DayBitmap.nextSetBit(bits, 4));
+        assertEquals(287, DayBitmap.nextSetBit(bits, 131));
+        assertEquals(-1, DayBitmap.nextSetBit(bits, 288));
+        assertEquals(-1, DayBitmap.nextSetBit(DayBitmap.empty(), 0));
+    }
+
+    private static BitSet toBitSet(long[] bits) {
+        return BitSet.valueOf(bits);
+    }
+
+    private static BitSet expected(int... ranges) {
+        BitSet bits = new BitSet();
+        for (int i = 0; i < ranges.length; i += 2) {
+            bits.set(ranges[i], ranges[i + 1]);
+        }
+        return bits;
+    }
+}
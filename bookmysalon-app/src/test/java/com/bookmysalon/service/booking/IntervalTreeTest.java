@@ -0,0 +1,115 @@
+package com.bookmysalon.service.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+
+    @Test
+    void overlappingIntervalsConflictButEdgeTouchingOnesDoNot() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1, 100, 200);
+
+        assertTrue(tree.overlaps(150, 250, Long.MIN_VALUE));
+        assertTrue(tree.overlaps(50, 101, Long.MIN_VALUE));
+        assertTrue(tree.overlaps(199, 300, Long.MIN_VALUE));
+        assertTrue(tree.overlaps(120, 130, Long.MIN_VALUE));
+        assertTrue(tree.overlaps(0, 1_000, Long.MIN_VALUE));
+
+        assertFalse(tree.overlaps(200, 300, Long.MIN_VALUE));
+        assertFalse(tree.overlaps(0, 100, Long.MIN_VALUE));
+    }
+
+    @Test
+    void excludedIdIsIgnoredButOtherOverlapsStillCount() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1, 100, 200);
+        tree.put(2, 200, 300);
+
+        assertFalse(tree.overlaps(100, 200, 1));
+        assertTrue(tree.overlaps(150, 250, 1));
+        assertFalse(tree.overlaps(150, 200, 1));
+    }
+
+    @Test
+    void putReplacesThePreviousIntervalOfTheSameId() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1, 100, 200);
+        tree.put(1, 500, 600);
+
+        assertEquals(1, tree.size());
+        assertArrayEquals(new long[]{500, 600}, tree.get(1));
+        assertFalse(tree.overlaps(100, 200, Long.MIN_VALUE));
+        assertTrue(tree.overlaps(550, 560, Long.MIN_VALUE));
+
+        assertTrue(tree.remove(1));
+        assertFalse(tree.remove(1));
+        assertNull(tree.get(1));
+        assertFalse(tree.overlaps(0, 1_000, Long.MIN_VALUE));
+    }
+
+    @Test
+    void forEachEndedByVisitsOnlyIntervalsEndingAtOrBeforeTheCutoff() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1, 0, 100);
+        tree.put(2, 50, 150);
+        tree.put(3, 90, 200);
+        tree.put(4, 150, 160);
+
+        List<Long> ended = new ArrayList<>();
+        tree.forEachEndedBy(150, (id, start, end) -> ended.add(id));
+
+        assertEquals(List.of(1L, 2L), ended);
+    }
+
+    @Test
+    void matchesBruteForceAcrossRandomInsertsAndRemovals() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<Long, long[]> expected = new HashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(id) != null, tree.remove(id));
+            } else {
+                long start = random.nextInt(10_000);
+                long end = start + 1 + random.nextInt(200);
+                tree.put(id, start, end);
+                expected.put(id, new long[]{start, end});
+            }
+
+            long start = random.nextInt(10_000);
+            long end = start + 1 + random.nextInt(300);
+            long exclude = random.nextInt(300);
+            assertEquals(bruteForceOverlaps(expected, start, end, exclude), tree.overlaps(start, end, exclude));
+
+            List<Long> visited = new ArrayList<>();
+            tree.forEachOverlapping(start, end, (visitedId, visitedStart, visitedEnd) -> visited.add(visitedId));
+            assertEquals(bruteForceOverlapCount(expected, start, end), visited.size());
+        }
+        assertEquals(expected.size(), tree.size());
+    }
+
+    private static boolean bruteForceOverlaps(Map<Long, long[]> intervals, long start, long end, long excludeId) {
+        return intervals.entrySet().stream()
+                .anyMatch(entry -> entry.getKey() != excludeId && entry.getValue()[0] < end && entry.getValue()[1] > start);
+    }
+
+    private static long bruteForceOverlapCount(Map<Long, long[]> intervals, long start, long end) {
+        return intervals.values().stream()
+                .filter(interval -> interval[0] < end && interval[1] > start)
+                .count();
+    }
+}
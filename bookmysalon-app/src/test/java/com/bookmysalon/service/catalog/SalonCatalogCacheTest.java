@@ -0,0 +1,118 @@
+package com.bookmysalon.service.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SalonCatalogCacheTest {
+
+    private static final Long SALON_ID = 3L;
+
+    private SalonCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SalonCatalogCache();
+        ReflectionTestUtils.setField(cache, "cacheSize", 2);
+    }
+
+    @Test
+    void snapshotBuiltAgainstTheCurrentVersionIsStored() {
+        SalonCatalogCache.Snapshot snapshot = snapshot(cache.currentVersion(SALON_ID));
+
+        cache.put(snapshot);
+
+        assertSame(snapshot, cache.get(SALON_ID));
+    }
+
+    @Test
+    void snapshotBuiltBeforeAnInvalidationIsRejected() {
+        long version = cache.currentVersion(SALON_ID);
+        cache.invalidate(SALON_ID);
+
+        cache.put(snapshot(version));
+
+        assertNull(cache.get(SALON_ID));
+        assertTrue(cache.currentVersion(SALON_ID) > version);
+    }
+
+    @Test
+    void abandonedVersionIsNeverStored() {
+        long version = cache.currentVersion(SALON_ID);
+        cache.abandon(SALON_ID, version);
+
+        cache.put(snapshot(version));
+
+        assertNull(cache.get(SALON_ID));
+    }
+
+    @Test
+    void leastRecentlyUsedSnapshotIsEvictedBeyondTheCacheSize() {
+        for (long salonId = 1; salonId <= 3; salonId++) {
+            cache.put(new SalonCatalogCache.Snapshot(salonId, cache.currentVersion(salonId), "\"" + salonId + "\"", new byte[0]));
+        }
+
+        assertNull(cache.get(1L));
+        assertEquals(2L, cache.get(2L).salonId());
+        assertEquals(3L, cache.get(3L).salonId());
+    }
+
+    /**
+     * Runs an invalidation on another thread at the moment {@code put} stores its snapshot and gives it time
+     * to finish. With a check-then-act put the invalidation completes in between and the stale snapshot stays.
+     */
+    @Test
+    void invalidationRacingWithPutNeverLeavesAStaleSnapshot() throws Exception {
+        long version = cache.currentVersion(SALON_ID);
+        Map<Long, SalonCatalogCache.Snapshot> stored = new LinkedHashMap<>();
+        Thread[] invalidation = new Thread[1];
+        Map<Long, SalonCatalogCache.Snapshot> racing = new LinkedHashMap<>() {
+            @Override
+            public SalonCatalogCache.Snapshot put(Long key, SalonCatalogCache.Snapshot value) {
+                if (invalidation[0] == null) {
+                    invalidation[0] = new Thread(() -> cache.invalidate(SALON_ID));
+                    invalidation[0].start();
+                    join(invalidation[0], 200);
+                }
+                return stored.put(key, value);
+            }
+
+            @Override
+            public SalonCatalogCache.Snapshot get(Object key) {
+                return stored.get(key);
+            }
+
+            @Override
+            public SalonCatalogCache.Snapshot remove(Object key) {
+                return stored.remove(key);
+            }
+        };
+        ReflectionTestUtils.setField(cache, "snapshots", racing);
+
+        cache.put(snapshot(version));
+        join(invalidation[0], 5_000);
+
+        assertNull(cache.get(SALON_ID));
+        assertTrue(cache.currentVersion(SALON_ID) > version);
+    }
+
+    private static void join(Thread thread, long millis) {
+        try {
+            thread.join(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static SalonCatalogCache.Snapshot snapshot(long version) {
+        return new SalonCatalogCache.Snapshot(SALON_ID, version, "\"" + version + "\"", new byte[0]);
+    }
+}
@@ -0,0 +1,135 @@
+package com.bookmysalon.service.idempotency;
+
+import com.bookmysalon.dto.response.ApiResponse;
+import com.bookmysalon.entity.IdempotencyRecord;
+import com.bookmysalon.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.idempotency.wait-timeout-ms=300")
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "test";
+    private static final Long USER_ID = 42L;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedKeyReplaysTheFirstResponse() {
+        ResponseEntity<ApiResponse<String>> first = execute("key-1", "created");
+        ResponseEntity<ApiResponse<String>> second = execute("key-1", "created again");
+
+        assertEquals(1, executions.get());
+        assertEquals("created", second.getBody().getData());
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(first.getBody().getData(), second.getBody().getData());
+    }
+
+    @Test
+    void claimWithALiveLeaseIsNotReExecuted() {
+        IdempotencyRecord claim = foreignClaim("key-2", LocalDateTime.now().plusMinutes(1));
+
+        ResponseEntity<ApiResponse<String>> response = execute("key-2", "created");
+
+        assertEquals(409, response.getStatusCode().value());
+        assertEquals(0, executions.get());
+        assertNull(idempotencyRecordRepository.findById(claim.getId()).orElseThrow().getStatusCode());
+    }
+
+    @Test
+    void claimWhoseLeaseLapsedIsTakenOver() {
+        foreignClaim("key-3", LocalDateTime.now().minusSeconds(1));
+
+        ResponseEntity<ApiResponse<String>> response = execute("key-3", "created");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(1, executions.get());
+        IdempotencyRecord record = idempotencyRecordRepository
+                .findByScopeAndUserIdAndIdempotencyKey(SCOPE, USER_ID, "key-3").orElseThrow();
+        assertEquals(200, record.getStatusCode());
+        assertNull(record.getLeaseExpiresAt());
+    }
+
+    @Test
+    void ownerThatLostItsClaimDoesNotOverwriteTheNewOwner() {
+        ResponseEntity<ApiResponse<String>> response = idempotencyService.execute(SCOPE, "key-4", USER_ID, Map.of("n", 1), String.class, () -> {
+            IdempotencyRecord mine = idempotencyRecordRepository
+                    .findByScopeAndUserIdAndIdempotencyKey(SCOPE, USER_ID, "key-4").orElseThrow();
+            idempotencyRecordRepository.delete(mine);
+            foreignClaim("key-4", LocalDateTime.now().plusMinutes(1));
+            return ResponseEntity.ok(ApiResponse.<String>builder().success(true).data("late").build());
+        });
+
+        assertEquals("late", response.getBody().getData());
+        IdempotencyRecord record = idempotencyRecordRepository
+                .findByScopeAndUserIdAndIdempotencyKey(SCOPE, USER_ID, "key-4").orElseThrow();
+        assertNull(record.getStatusCode());
+        assertEquals("other-request", record.getRequestHash());
+    }
+
+    @Test
+    void runningClaimsHaveTheirLeaseRenewed() {
+        idempotencyService.execute(SCOPE, "key-5", USER_ID, Map.of("n", 1), String.class, () -> {
+            IdempotencyRecord claim = idempotencyRecordRepository
+                    .findByScopeAndUserIdAndIdempotencyKey(SCOPE, USER_ID, "key-5").orElseThrow();
+            claim.setLeaseExpiresAt(LocalDateTime.now().minusSeconds(1));
+            idempotencyRecordRepository.save(claim);
+
+            idempotencyService.renewLeases();
+
+            LocalDateTime renewed = idempotencyRecordRepository.findById(claim.getId()).orElseThrow().getLeaseExpiresAt();
+            assertTrue(renewed.isAfter(LocalDateTime.now()));
+            return ResponseEntity.ok(ApiResponse.<String>builder().success(true).data("done").build());
+        });
+    }
+
+    @Test
+    void failedResponseReleasesTheClaim() {
+        ResponseEntity<ApiResponse<String>> failed = idempotencyService.execute(SCOPE, "key-6", USER_ID, Map.of("n", 1), String.class,
+                () -> ResponseEntity.status(500).body(ApiResponse.<String>builder().success(false).build()));
+
+        assertEquals(500, failed.getStatusCode().value());
+        assertTrue(idempotencyRecordRepository.findByScopeAndUserIdAndIdempotencyKey(SCOPE, USER_ID, "key-6").isEmpty());
+        assertEquals(200, execute("key-6", "created").getStatusCode().value());
+    }
+
+    private ResponseEntity<ApiResponse<String>> execute(String key, String data) {
+        return idempotencyService.execute(SCOPE, key, USER_ID, Map.of("n", 1), String.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok(ApiResponse.<String>builder().success(true).data(data).build());
+        });
+    }
+
+    private IdempotencyRecord foreignClaim(String key, LocalDateTime leaseExpiresAt) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setScope(SCOPE);
+        record.setUserId(USER_ID);
+        record.setIdempotencyKey(key);
+        record.setRequestHash("other-request");
+        record.setExpiresAt(LocalDateTime.now().plusHours(1));
+        record.setLeaseExpiresAt(leaseExpiresAt);
+        return idempotencyRecordRepository.saveAndFlush(record);
+    }
+}
@@ -0,0 +1,159 @@
+package com.bookmysalon.service.outbox;
+
+import com.bookmysalon.entity.Booking;
+import com.bookmysalon.entity.BookingStatus;
+import com.bookmysalon.entity.OutboxEvent;
+import com.bookmysalon.entity.OutboxStatus;
+import com.bookmysalon.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RabbitOperations operations = mock(RabbitOperations.class);
+    private final List<String> published = new ArrayList<>();
+    private final List<String> poisoned = new ArrayList<>();
+
+    private TransactionTemplate transactionTemplate;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation -> {
+            List<String> sentOnChannel = new ArrayList<>();
+            doAnswer(send -> {
+                String messageId = send.<Message>getArgument(2).getMessageProperties().getMessageId();
+                if (poisoned.contains(messageId)) {
+                    throw new AmqpException("nack for " + messageId);
+                }
+                sentOnChannel.add(messageId);
+                return null;
+            }).when(operations).send(anyString(), anyString(), any(Message.class));
+            Object result = invocation.<RabbitOperations.OperationsCallback<Object>>getArgument(0).doInRabbit(operations);
+            published.addAll(sentOnChannel);
+            return result;
+        });
+
+        relay = new OutboxRelay(outboxEventRepository, rabbitTemplate);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "confirmTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 2);
+        ReflectionTestUtils.setField(relay, "backoffInitialMs", 60_000L);
+        ReflectionTestUtils.setField(relay, "backoffMaxMs", 300_000L);
+    }
+
+    @Test
+    void confirmedBatchIsMarkedSent() {
+        List<Long> ids = recordBookingEvents(1L, 2L);
+
+        relay();
+
+        assertEquals(List.of("outbox-" + ids.get(0), "outbox-" + ids.get(1)), published);
+        for (OutboxEvent event : outboxEventRepository.findAllById(ids)) {
+            assertEquals(OutboxStatus.SENT, event.getStatus());
+            assertNotNull(event.getSentAt());
+            assertEquals(0, event.getAttempts());
+        }
+    }
+
+    @Test
+    void failedConfirmCountsTheAttemptAndBacksOff() throws Exception {
+        List<Long> ids = recordBookingEvents(1L);
+        doAnswer(invocation -> {
+            throw new AmqpException("confirm timed out");
+        }).when(operations).waitForConfirmsOrDie(anyLong());
+
+        relay();
+
+        OutboxEvent event = outboxEventRepository.findById(ids.get(0)).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertEquals("confirm timed out", event.getLastError());
+        assertTrue(event.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(30)));
+
+        relay();
+        assertEquals(1, outboxEventRepository.findById(ids.get(0)).orElseThrow().getAttempts());
+    }
+
+    @Test
+    void poisonEventIsIsolatedAndEventuallyMarkedFailed() {
+        List<Long> ids = recordBookingEvents(1L, 2L, 3L);
+        poisoned.add("outbox-" + ids.get(1));
+
+        relay();
+
+        assertEquals(List.of("outbox-" + ids.get(0), "outbox-" + ids.get(2)), published);
+        assertEquals(OutboxStatus.SENT, outboxEventRepository.findById(ids.get(0)).orElseThrow().getStatus());
+        assertEquals(OutboxStatus.SENT, outboxEventRepository.findById(ids.get(2)).orElseThrow().getStatus());
+        OutboxEvent poison = outboxEventRepository.findById(ids.get(1)).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, poison.getStatus());
+        assertEquals(1, poison.getAttempts());
+        assertEquals("nack for outbox-" + ids.get(1), poison.getLastError());
+
+        poison.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxEventRepository.save(poison);
+        relay();
+
+        poison = outboxEventRepository.findById(ids.get(1)).orElseThrow();
+        assertEquals(OutboxStatus.FAILED, poison.getStatus());
+        assertEquals(2, poison.getAttempts());
+        assertNull(poison.getNextAttemptAt());
+    }
+
+    private void relay() {
+        transactionTemplate.executeWithoutResult(status -> relay.relay());
+    }
+
+    private List<Long> recordBookingEvents(Long... bookingIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long bookingId : bookingIds) {
+                Booking booking = new Booking();
+                booking.setId(bookingId);
+                booking.setSalonId(7L);
+                booking.setCustomerId(1L);
+                booking.setStatus(BookingStatus.PENDING);
+                outboxService.recordBookingEvent("booking.created", booking);
+            }
+        });
+        return outboxEventRepository.findAll().stream().map(OutboxEvent::getId).sorted().toList();
+    }
+}
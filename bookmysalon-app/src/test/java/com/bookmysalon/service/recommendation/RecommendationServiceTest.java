@@ -0,0 +1,111 @@
+package com.bookmysalon.service.recommendation;
+
+import com.bookmysalon.dto.recommendation.RecommendationDto;
+import com.bookmysalon.entity.Booking;
+import com.bookmysalon.entity.BookingStatus;
+import com.bookmysalon.entity.Salon;
+import com.bookmysalon.repository.BookingRepository;
+import com.bookmysalon.repository.SalonRepository;
+import com.bookmysalon.service.review.SalonRatingAggregate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.demo.seed-users=true")
+class RecommendationServiceTest {
+
+    private static final Long CUSTOMER_ID = 1L;
+    private static final Long OWNER_ID = 2L;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private SalonRatingAggregate salonRatingAggregate;
+
+    @Autowired
+    private SalonRepository salonRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void salonsOfferingTheCustomersBookedServicesAreRankedWithTheirRating() {
+        Long salonId = salon();
+        Long categoryId = insert("INSERT INTO categories (name, salon_id) VALUES (?, ?)", "Hair", salonId);
+        Long offeringId = insert("INSERT INTO service_offerings (name, description, price, duration, salon_id, category_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?)", "Haircut", "Classic cut", 300.0, 30, salonId, categoryId);
+        booking(salonId, offeringId, BookingStatus.CONFIRMED);
+        booking(salonId, offeringId, BookingStatus.CANCELLED);
+        jdbcTemplate.update("INSERT INTO reviews (text, rating, salon_id, user_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                "Great", 4.0, salonId, CUSTOMER_ID, LocalDateTime.now());
+        salonRatingAggregate.backfill();
+
+        RecommendationDto recommendation = recommendationService.recommendSalons(CUSTOMER_ID, null, null, 50).stream()
+                .filter(dto -> dto.getSalonId().equals(salonId))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals("Recommended Salon", recommendation.getSalonName());
+        assertEquals(1 + 4.0 / 5.0, recommendation.getScore(), 0.0001);
+    }
+
+    @Test
+    void customerWithoutConfirmedBookingsGetsNoRecommendations() {
+        assertTrue(recommendationService.recommendSalons(-1L, null, null, 10).isEmpty());
+    }
+
+    private Long salon() {
+        Salon salon = new Salon();
+        salon.setName("Recommended Salon");
+        salon.setAddress("1 Test Street");
+        salon.setPhoneNumber("0000000000");
+        salon.setEmail("recommended-" + UUID.randomUUID() + "@example.com");
+        salon.setCity("Pune");
+        salon.setOwnerId(OWNER_ID);
+        salon.setOpenTime(LocalTime.of(9, 0));
+        salon.setCloseTime(LocalTime.of(21, 0));
+        return salonRepository.save(salon).getId();
+    }
+
+    private void booking(Long salonId, Long offeringId, BookingStatus status) {
+        LocalDateTime start = LocalDateTime.of(2032, 3, 1, 10, 0).plusDays(salonId);
+        Booking booking = new Booking();
+        booking.setSalonId(salonId);
+        booking.setCustomerId(CUSTOMER_ID);
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusMinutes(30));
+        booking.setStatus(status);
+        booking.setTotalPrice(300.0);
+        booking.setServiceOfferingIds(Set.of(offeringId));
+        bookingRepository.save(booking);
+    }
+
+    private Long insert(String sql, Object... args) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+}
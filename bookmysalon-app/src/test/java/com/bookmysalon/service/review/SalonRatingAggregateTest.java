@@ -0,0 +1,108 @@
+package com.bookmysalon.service.review;
+
+import com.bookmysalon.entity.Salon;
+import com.bookmysalon.repository.SalonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "app.demo.seed-users=true")
+class SalonRatingAggregateTest {
+
+    private static final Long CUSTOMER_ID = 1L;
+    private static final Long OWNER_ID = 2L;
+
+    @Autowired
+    private SalonRatingAggregate salonRatingAggregate;
+
+    @Autowired
+    private SalonRepository salonRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long salonId;
+
+    @BeforeEach
+    void setUp() {
+        Salon salon = new Salon();
+        salon.setName("Rating Salon");
+        salon.setAddress("1 Test Street");
+        salon.setPhoneNumber("0000000000");
+        salon.setEmail("rating-" + UUID.randomUUID() + "@example.com");
+        salon.setCity("Pune");
+        salon.setOwnerId(OWNER_ID);
+        salon.setOpenTime(LocalTime.of(9, 0));
+        salon.setCloseTime(LocalTime.of(21, 0));
+        salonId = salonRepository.save(salon).getId();
+    }
+
+    @Test
+    void backfillRebuildsARowThatDriftedFromTheReviews() {
+        review(5.0);
+        review(2.0);
+        jdbcTemplate.update("INSERT INTO salon_ratings (salon_id, rating_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5)"
+                + " VALUES (?, 9, 40, 0, 0, 0, 0, 9)", salonId);
+
+        salonRatingAggregate.backfill();
+
+        assertSummary(2, 7.0, 0, 1, 0, 0, 1);
+    }
+
+    @Test
+    void backfillKeepsLiveRecordDeltasAndIsIdempotent() {
+        review(4.0);
+        salonRatingAggregate.backfill();
+        assertSummary(1, 4.0, 0, 0, 0, 1, 0);
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            review(1.0);
+            salonRatingAggregate.record(salonId, null, 1.0);
+        });
+        salonRatingAggregate.backfill();
+        salonRatingAggregate.backfill();
+
+        assertSummary(2, 5.0, 1, 0, 0, 1, 0);
+    }
+
+    @Test
+    void concurrentBackfillsDoNotDoubleCount() {
+        review(3.0);
+
+        List<CompletableFuture<Void>> runs = List.of(
+                CompletableFuture.runAsync(salonRatingAggregate::backfill),
+                CompletableFuture.runAsync(salonRatingAggregate::backfill),
+                CompletableFuture.runAsync(salonRatingAggregate::backfill)
+        );
+        runs.forEach(CompletableFuture::join);
+
+        assertSummary(1, 3.0, 0, 0, 1, 0, 0);
+    }
+
+    private void review(double rating) {
+        jdbcTemplate.update("INSERT INTO reviews (text, rating, salon_id, user_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                "Visit", rating, salonId, CUSTOMER_ID, LocalDateTime.now());
+    }
+
+    private void assertSummary(long count, double sum, long... stars) {
+        SalonRatingAggregate.Summary summary = salonRatingAggregate.get(salonId);
+        assertEquals(count, summary.count());
+        assertEquals(sum, summary.sum(), 0.0001);
+        assertArrayEquals(stars, summary.stars());
+    }
+}
@@ -123,7 +123,7 @@ export function ChatProvider({ children }) {
       return () => {};
     }
 
-    const subscription = clientRef.current.subscribe(`/topic/messages/${conversationId}`, (frame) => {
+    const subscription = clientRef.current.subscribe(`/topic/messages.${conversationId}`, (frame) => {
       const payload = JSON.parse(frame.body);
       onMessage(payload);
     });
@@ -112,6 +112,15 @@ export default function ChatPage() {
     if (!conversation?.id || !connected) return;
 
     const unsubscribe = subscribeToConversation(conversation.id, async (incoming) => {
+      if (incoming.type === 'READ_RECEIPT') {
+        setMessages((previous) => previous.map((item) => (
+          item.id && item.id <= incoming.upToMessageId && item.receiverId === incoming.readerId && item.status !== 'READ'
+            ? { ...item, status: 'READ', readAt: incoming.readAt }
+            : item
+        )));
+        return;
+      }
+
       setMessages((previous) => {
         const indexById = incoming.id ? previous.findIndex((item) => item.id === incoming.id) : -1;
         if (indexById >= 0) {